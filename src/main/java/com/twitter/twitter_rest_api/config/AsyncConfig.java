@@ -0,0 +1,55 @@
+package com.twitter.twitter_rest_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync(proxyTargetClass = true)
+public class AsyncConfig {
+
+    @Value("${app.timeline.fanout.pool-size:4}")
+    private int fanoutPoolSize;
+
+    @Value("${app.timeline.fanout.queue-capacity:10000}")
+    private int fanoutQueueCapacity;
+
+    @Value("${app.auth.hashing.pool-size:4}")
+    private int hashingPoolSize;
+
+    @Value("${app.auth.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    // Timeline fan-out işleri istek thread'ini bekletmesin diye ayrı havuzda çalışır.
+    // Kuyruk dolarsa iş kaybolmasın diye çağıran thread üzerinde çalıştırılır.
+    @Bean(name = "timelineExecutor")
+    public Executor timelineExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fanoutPoolSize);
+        executor.setMaxPoolSize(fanoutPoolSize);
+        executor.setQueueCapacity(fanoutQueueCapacity);
+        executor.setThreadNamePrefix("timeline-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Login'deki BCrypt doğrulaması Tomcat thread'lerini tüketmesin diye sınırlı havuzda çalışır.
+    // Kuyruk dolarsa iş çağırana geri verilmez, reddedilir; istek 503 ile döner
+    @Bean(name = "passwordHashingExecutor")
+    public Executor passwordHashingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hashingPoolSize);
+        executor.setMaxPoolSize(hashingPoolSize);
+        executor.setQueueCapacity(hashingQueueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
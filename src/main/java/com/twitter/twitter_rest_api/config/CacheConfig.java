@@ -0,0 +1,36 @@
+package com.twitter.twitter_rest_api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    // Görüntüleyenden bağımsız tweet yanıtları (içerik, yazar, sayaçlar)
+    public static final String TWEET_CORES = "tweetCores";
+    // Kullanıcı id'sine göre profil yanıtları (sayaçlar dahil)
+    public static final String USER_PROFILES = "userProfiles";
+
+    @Value("${app.cache.tweet-cores.spec:maximumSize=20000,expireAfterWrite=10m}")
+    private String tweetCoresSpec;
+
+    @Value("${app.cache.user-profiles.spec:maximumSize=50000,expireAfterWrite=10m}")
+    private String userProfilesSpec;
+
+    // Transaction içindeki put/evict işlemleri commit sonrasına ertelenir; böylece
+    // geri alınan bir değişiklik önbelleğe girmez, eski değer de commit'ten önce geri yüklenemez
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(TWEET_CORES, Caffeine.from(tweetCoresSpec).build());
+        cacheManager.registerCustomCache(USER_PROFILES, Caffeine.from(userProfilesSpec).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
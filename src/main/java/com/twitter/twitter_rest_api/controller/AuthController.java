@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +21,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Authentication", description = "Authentication management APIs")
@@ -54,9 +57,15 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated"),
             @ApiResponse(responseCode = "401", description = "Invalid credentials")
     })
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest){
-        AuthResponse authResponse=authenticationService.login(loginRequest.getEmail(),
-                loginRequest.getPassword());
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest,
+                                                      HttpServletRequest request){
+        // Doğrulama ayrı havuzda tamamlanana kadar Tomcat thread'i serbest kalır (servlet async)
+        return authenticationService.login(loginRequest.getEmail(), loginRequest.getPassword(),
+                        request.getRemoteAddr())
+                .thenApply(this::toLoginResponse);
+    }
+
+    private ResponseEntity<?> toLoginResponse(AuthResponse authResponse){
         ResponseCookie accessTokenCookie=createCookie(
                 "accessToken",
                 authResponse.accessToken(),
@@ -68,21 +77,7 @@ public class AuthController {
                 7*24*60*60
         );
 
-        UserResponse userResponse = new UserResponse(
-                authResponse.user().id(),
-                authResponse.user().firstAndLastName(),
-                authResponse.user().username(),
-                authResponse.user().email(),
-                authResponse.user().bio(),
-                authResponse.user().profileImage(),
-                authResponse.user().headerImage(),
-                authResponse.user().followersCount(),
-                authResponse.user().followingCount(),
-                authResponse.user().tweetsCount(),
-                authResponse.user().verified(),
-                authResponse.user().privateAccount(),
-                authResponse.user().createdAt()
-        );
+        UserResponse userResponse = authResponse.user();
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, accessTokenCookie.toString())
@@ -112,21 +107,7 @@ public class AuthController {
                 authResponse.refreshToken(),
                 7 * 24 * 60 * 60
         );
-        UserResponse userResponse = new UserResponse(
-                authResponse.user().id(),
-                authResponse.user().firstAndLastName(),
-                authResponse.user().username(),
-                authResponse.user().email(),
-                authResponse.user().bio(),
-                authResponse.user().profileImage(),
-                authResponse.user().headerImage(),
-                authResponse.user().followersCount(),
-                authResponse.user().followingCount(),
-                authResponse.user().tweetsCount(),
-                authResponse.user().verified(),
-                authResponse.user().privateAccount(),
-                authResponse.user().createdAt()
-        );
+        UserResponse userResponse = authResponse.user();
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, accessTokenCookie.toString())
@@ -175,20 +156,6 @@ public class AuthController {
                 registerUser.password(),
                 registerUser.role()
         );
-        return new UserResponse(
-                user.getId(),
-                user.getFullName(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getBio(),
-                user.getProfileImage(),
-                user.getHeaderImage(),
-                user.getFollowersCount(),
-                user.getFollowingCount(),
-                user.getTweetsCount(),
-                user.getVerified(),
-                user.getPrivateAccount(),
-                user.getCreatedAt()
-        );
+        return UserResponse.from(user);
     }
 }
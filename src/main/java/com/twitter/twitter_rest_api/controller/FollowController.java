@@ -1,19 +1,15 @@
 package com.twitter.twitter_rest_api.controller;
 
 import com.twitter.twitter_rest_api.dto.UserResponse;
-import com.twitter.twitter_rest_api.entity.User;
-import com.twitter.twitter_rest_api.exceptions.ApiException;
-import com.twitter.twitter_rest_api.repository.UserRepository;
+import com.twitter.twitter_rest_api.security.AuthenticatedUser;
 import com.twitter.twitter_rest_api.service.FollowService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -22,22 +18,21 @@ import org.springframework.web.bind.annotation.*;
 public class FollowController {
 
     private final FollowService followService;
-    private final UserRepository userRepository;
     @PostMapping("/{followingId}")
     @Operation(summary = "Kullanıcıyı takip et")
     public ResponseEntity<UserResponse> followUser(
             @PathVariable("followingId") Long followingId,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user
             ){
-        return ResponseEntity.ok(followService.followUser(followingId, userDetails.getUsername()));
+        return ResponseEntity.ok(followService.followUser(followingId, user.id()));
     }
     @DeleteMapping("/{followingId}")
     @Operation(summary = "Kullanıcıyı takipten çık")
     public ResponseEntity<UserResponse> unfollowUser(
             @PathVariable("followingId") Long followingId,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user
     ){
-        return ResponseEntity.ok(followService.unfollowUser(followingId,userDetails.getUsername()));
+        return ResponseEntity.ok(followService.unfollowUser(followingId,user.id()));
     }
     @GetMapping("/{userId}/followers")
     @Operation(summary = "Kullanıcının takipçileri")
@@ -54,9 +49,7 @@ public class FollowController {
     @GetMapping("/check/{followingId}")
     @Operation(summary = "Aktif kullanıcı diğer kullanıcıyı takip ediyor mu kontrolü")
     public ResponseEntity<Boolean> checkFollowStatus(@PathVariable("followingId") Long followingId,
-                                                     @AuthenticationPrincipal UserDetails userDetails){
-        User currentUser=userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new ApiException("Aktif kullanıcı bulunamadı!", HttpStatus.NOT_FOUND));
-        return ResponseEntity.ok(followService.isFollowing(currentUser.getId(),followingId));
+                                                     @AuthenticationPrincipal AuthenticatedUser user){
+        return ResponseEntity.ok(followService.isFollowing(user.id(),followingId));
     }
 }
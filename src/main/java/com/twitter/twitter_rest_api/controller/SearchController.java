@@ -1,13 +1,17 @@
 // SearchController.java
 package com.twitter.twitter_rest_api.controller;
 
+import com.twitter.twitter_rest_api.dto.CursorSlice;
 import com.twitter.twitter_rest_api.dto.SearchResponse;
+import com.twitter.twitter_rest_api.dto.TrendResponse;
 import com.twitter.twitter_rest_api.dto.TweetResponse;
 import com.twitter.twitter_rest_api.dto.UserResponse;
+import com.twitter.twitter_rest_api.dto.UserSuggestion;
 import com.twitter.twitter_rest_api.service.SearchService;
+import com.twitter.twitter_rest_api.service.TrendService;
+import com.twitter.twitter_rest_api.service.UserAutocompleteIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -23,6 +27,8 @@ import java.util.List;
 @Slf4j
 public class SearchController {
     private final SearchService searchService;
+    private final TrendService trendService;
+    private final UserAutocompleteIndex userAutocompleteIndex;
 
     @GetMapping
     public ResponseEntity<?> search(
@@ -39,14 +45,28 @@ public class SearchController {
     }
 
     @GetMapping("/hashtags/{hashtag}")
-    public ResponseEntity<Page<TweetResponse>> searchByHashtag(
+    public ResponseEntity<CursorSlice<TweetResponse>> searchByHashtag(
             @PathVariable String hashtag,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(defaultValue = "10") int size,
             Authentication authentication) {
 
         String username = authentication.getName();
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return ResponseEntity.ok(searchService.findByHashtag(hashtag, pageable, username));
+        return ResponseEntity.ok(searchService.findByHashtag(hashtag, cursor, size, username));
+    }
+
+    @GetMapping("/trends")
+    public ResponseEntity<List<TrendResponse>> getTrends(
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendService.getTrends(TrendService.Window.fromLabel(window), limit));
+    }
+
+    // Yazarken her tuşta çağrılır; veritabanına gitmez
+    @GetMapping("/users/autocomplete")
+    public ResponseEntity<List<UserSuggestion>> autocompleteUsers(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(userAutocompleteIndex.suggest(prefix, limit));
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.twitter.twitter_rest_api.controller;
 
 import com.twitter.twitter_rest_api.dto.*;
 import com.twitter.twitter_rest_api.entity.Tweet;
+import com.twitter.twitter_rest_api.security.AuthenticatedUser;
 import com.twitter.twitter_rest_api.service.LikeService;
 import com.twitter.twitter_rest_api.service.S3Service;
 import com.twitter.twitter_rest_api.service.TweetService;
@@ -22,12 +23,13 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/tweet")
@@ -62,8 +64,44 @@ public class TweetController {
                     sort = "createdAt",
                     direction = Sort.Direction.DESC
             ) Pageable pageable,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(tweetService.findAll(pageable,userDetails.getUsername()));
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(tweetService.findAll(pageable,user.id()));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(
+            summary = "Bütün tweetleri cursor ile getir",
+            description = "Keyset sayfalama ile tweetleri en yeniden eskiye getirir. " +
+                    "İlk sayfa için cursor gönderilmez, sonraki sayfalar için yanıttaki nextCursor kullanılır"
+    )
+    public ResponseEntity<CursorSlice<TweetResponse>> getAllTweetsByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(tweetService.findAllByCursor(cursor, size, user.id()));
+    }
+
+    @GetMapping("/home")
+    @Operation(
+            summary = "Home timeline'ı getir",
+            description = "Aktif kullanıcının ve takip ettiği kullanıcıların tweetlerini en yeniden eskiye getirir"
+    )
+    public ResponseEntity<Page<TweetResponse>> getHomeTimeline(
+            @PageableDefault(size = 20) Pageable pageable,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(tweetService.findHomeTimeline(pageable, user.id()));
+    }
+
+    @GetMapping("/following")
+    @Operation(
+            summary = "Takip edilenlerin timeline'ını cursor ile getir",
+            description = "Takip edilen kullanıcıların son tweetlerini bellekteki yazar listelerinden birleştirir"
+    )
+    public ResponseEntity<CursorSlice<TweetResponse>> getFollowingTimeline(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(tweetService.findFollowingTimeline(cursor, size, user.id()));
     }
 
     @GetMapping("/user/{userID}")
@@ -74,18 +112,35 @@ public class TweetController {
                     size = 20,
                     sort = "createdAt",
                     direction = Sort.Direction.DESC
-            ) Pageable pageable
+            ) Pageable pageable,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        return ResponseEntity.ok(tweetService.findByUserId(userID, pageable));
+        return ResponseEntity.ok(tweetService.findByUserId(userID, pageable, user.id()));
+    }
+
+    @GetMapping("/user/{userID}/cursor")
+    @Operation(summary = "Kullanıcının tweetlerini cursor ile getir")
+    public ResponseEntity<CursorSlice<TweetResponse>> getAllTweetForUserByCursor(
+            @PathVariable("userID") Long userID,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(tweetService.findByUserIdByCursor(userID, cursor, size, user.id()));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Tweet'i ID'ye göre getir")
     public ResponseEntity<TweetResponse> findById(
             @PathVariable("id") long id,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(tweetService.findById(id, userDetails.getUsername()));
+        // Gövde önbellek çekirdeklerinden bir kere kurulur, istemcideki sürüm güncelse 304 döner
+        TweetDetailResponse detail = tweetService.findById(id, user.id());
+        if (webRequest.checkNotModified(tweetService.detailTag(detail))) {
+            return null;
+        }
+        return ResponseEntity.ok(detail);
     }
 
 
@@ -107,9 +162,9 @@ public class TweetController {
     public ResponseEntity<TweetResponse> createTweet(
             @RequestParam(value = "media", required = false) MultipartFile media,
             @RequestParam("content") String content,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
-        TweetResponse tweet = tweetService.createTweet(content, media, userDetails.getUsername());
+        TweetResponse tweet = tweetService.createTweet(content, media, user.id());
         return ResponseEntity.status(HttpStatus.CREATED).body(tweet);
     }
 
@@ -119,10 +174,10 @@ public class TweetController {
             @PathVariable Long tweetId,
             @RequestParam("content") String content,
             @RequestParam(value = "media", required = false) MultipartFile media,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
         TweetDetailResponse reply = tweetService.replyToTweet(
-                tweetId, content, media, userDetails.getUsername());
+                tweetId, content, media, user.id());
         return ResponseEntity.status(HttpStatus.CREATED).body(reply);
     }
 
@@ -130,8 +185,22 @@ public class TweetController {
     @PostMapping("/{tweetId}/like")
     @Operation(summary = "Tweet beğen/beğeniyi kaldır")
     public TweetResponse likeTweet(@PathVariable("tweetId")Long tweetId,
-                          @AuthenticationPrincipal UserDetails userDetails){
-        return likeService.toggleLike(tweetId,userDetails.getUsername());
+                          @AuthenticationPrincipal AuthenticatedUser user){
+        return likeService.toggleLike(tweetId,user.id());
+    }
+
+    @PutMapping("/{tweetId}/like")
+    @Operation(summary = "Tweet beğen", description = "Tekrar çağrılması durumu değiştirmez")
+    public LikeResponse like(@PathVariable("tweetId") Long tweetId,
+                             @AuthenticationPrincipal AuthenticatedUser user){
+        return likeService.like(tweetId, user.id());
+    }
+
+    @DeleteMapping("/{tweetId}/like")
+    @Operation(summary = "Tweet beğenisini kaldır", description = "Tekrar çağrılması durumu değiştirmez")
+    public LikeResponse unlike(@PathVariable("tweetId") Long tweetId,
+                               @AuthenticationPrincipal AuthenticatedUser user){
+        return likeService.unlike(tweetId, user.id());
     }
 
     @GetMapping("/{tweetId}/reply")
@@ -143,9 +212,41 @@ public class TweetController {
                     sort = "createdAt",
                     direction = Sort.Direction.DESC
             ) Pageable pageable,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest
+    ){
+        Optional<String> etag = tweetService.findRepliesTag(tweetId, pageable, user.id());
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
+        return ResponseEntity.ok(tweetService.findRepliesByTweetId(tweetId,pageable,user.id()));
+    }
+
+    @GetMapping("/{tweetId}/reply/cursor")
+    @Operation(summary = "Tweet'e verilen yanıtları cursor ile getir")
+    public ResponseEntity<CursorSlice<TweetResponse>> getRepliesByCursor(
+            @PathVariable("tweetId") Long tweetId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest
+    ){
+        Optional<String> etag = tweetService.findRepliesByCursorTag(tweetId, cursor, size, user.id());
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
+        return ResponseEntity.ok(tweetService.findRepliesByCursor(tweetId, cursor, size, user.id()));
+    }
+
+    @GetMapping("/{tweetId}/reply/tree")
+    @Operation(summary = "Tweet'e verilen yanıtları ağaç olarak getir")
+    public ResponseEntity<ReplyTreeNode> getReplyTree(
+            @PathVariable("tweetId") Long tweetId,
+            @RequestParam(value = "depth", defaultValue = "3") int depth,
+            @RequestParam(value = "fanout", defaultValue = "10") int fanout,
+            @AuthenticationPrincipal AuthenticatedUser user
     ){
-        return ResponseEntity.ok(tweetService.findRepliesByTweetId(tweetId,pageable,userDetails.getUsername()));
+        return ResponseEntity.ok(tweetService.findReplyTree(tweetId, depth, fanout, user.id()));
     }
 
 
@@ -154,10 +255,10 @@ public class TweetController {
     @PostMapping("/{tweetId}/retweet")
     @Operation(summary = "Tweet'i retweet et")
     public TweetResponse retweet(@PathVariable("tweetId")Long tweetId,
-                                 @AuthenticationPrincipal UserDetails userDetails){
+                                 @AuthenticationPrincipal AuthenticatedUser user){
         RetweetRequest retweetRequest=new RetweetRequest();
         retweetRequest.setParentTweetId(tweetId);
-        return tweetService.retweet(retweetRequest,userDetails.getUsername());
+        return tweetService.retweet(retweetRequest,user.id());
 
     }
 
@@ -172,10 +273,10 @@ public class TweetController {
             @PathVariable("tweetId") Long tweetId,
             @RequestParam("content") String content,
             @RequestParam(value = "media", required = false) MultipartFile media,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(tweetService.quoteTweet(tweetId, content, media, userDetails.getUsername()));
+                .body(tweetService.quoteTweet(tweetId, content, media, user.id()));
     }
 
 
@@ -186,8 +287,8 @@ public class TweetController {
     public TweetResponse updateTweet(
             @PathVariable("id") Long id,
             @Valid @RequestBody Tweet tweet,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return tweetService.update(id, tweet, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return tweetService.update(id, tweet, user.id());
     }
 
     @DeleteMapping("/{id}")
@@ -196,9 +297,9 @@ public class TweetController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public TweetResponse deleteTweet(
             @PathVariable("id") Long id,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user
 
             ) {
-        return tweetService.delete(id, userDetails.getUsername());
+        return tweetService.delete(id, user.id());
     }
 }
\ No newline at end of file
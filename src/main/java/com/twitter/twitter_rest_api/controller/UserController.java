@@ -2,6 +2,7 @@ package com.twitter.twitter_rest_api.controller;
 
 import com.twitter.twitter_rest_api.dto.UserResponse;
 import com.twitter.twitter_rest_api.exceptions.ApiException;
+import com.twitter.twitter_rest_api.security.AuthenticatedUser;
 import com.twitter.twitter_rest_api.service.S3Service;
 import com.twitter.twitter_rest_api.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestController
@@ -39,8 +41,8 @@ public class UserController {
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
             @ApiResponse(responseCode = "403", description = "Invalid or missing JWT token")
     })
-    public UserResponse getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        return userService.getCurrentUser(userDetails.getUsername());
+    public UserResponse getCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
+        return userService.getCurrentUser(user.id());
     }
 
     @GetMapping("/{id}")
@@ -48,7 +50,11 @@ public class UserController {
             summary = "Get user by ID",
             description = "Returns user details by ID. Requires JWT token."
     )
-    public UserResponse getUserById(@PathVariable("id") Long id) {
+    public UserResponse getUserById(@PathVariable("id") Long id, WebRequest webRequest) {
+        // Profil değişmediyse gövde gönderilmeden 304 döner
+        if (webRequest.checkNotModified(userService.getProfileTag(id))) {
+            return null;
+        }
         return userService.getById(id);
     }
     @PutMapping("/profile-image")
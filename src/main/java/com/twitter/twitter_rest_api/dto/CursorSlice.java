@@ -0,0 +1,17 @@
+package com.twitter.twitter_rest_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Cursor ile sayfalanmış sonuç, toplam sayı hesaplanmaz")
+public record CursorSlice<T>(
+        @Schema(description = "Sayfadaki kayıtlar")
+        List<T> content,
+        @Schema(description = "Sayfa boyutu")
+        int size,
+        @Schema(description = "Sonraki sayfa var mı")
+        boolean hasNext,
+        @Schema(description = "Sonraki sayfa için cursor, son sayfada null")
+        String nextCursor) {
+}
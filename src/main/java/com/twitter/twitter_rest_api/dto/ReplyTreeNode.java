@@ -0,0 +1,15 @@
+package com.twitter.twitter_rest_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Yanıt ağacındaki bir tweet ve altındaki yanıtlar")
+public record ReplyTreeNode(
+        @Schema(description = "Tweet")
+        TweetResponse tweet,
+        @Schema(description = "Derinlik, fanout ya da toplam düğüm sınırı yüzünden gösterilmeyen yanıt var mı")
+        boolean hasMoreReplies,
+        @Schema(description = "Yanıtlar, en eskiden başlayarak")
+        List<ReplyTreeNode> replies) {
+}
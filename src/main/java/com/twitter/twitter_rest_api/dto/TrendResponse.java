@@ -0,0 +1,11 @@
+package com.twitter.twitter_rest_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Gündemdeki hashtag")
+public record TrendResponse(
+        @Schema(description = "Hashtag, '#' olmadan ve katlanmış biçimde")
+        String tag,
+        @Schema(description = "Pencere içindeki tahmini tweet sayısı (sketch tahmini, gerçek sayıdan küçük olmaz)")
+        long tweetCount) {
+}
@@ -0,0 +1,37 @@
+package com.twitter.twitter_rest_api.dto;
+
+import com.twitter.twitter_rest_api.entity.Tweet;
+import com.twitter.twitter_rest_api.exceptions.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Keyset sayfalama için (createdAt, id) çifti. İstemciye opak bir token olarak verilir.
+public record TweetCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "_";
+
+    public static TweetCursor of(Tweet tweet) {
+        return new TweetCursor(tweet.getCreatedAt(), tweet.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TweetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new TweetCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new ApiException("Geçersiz cursor: " + token, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
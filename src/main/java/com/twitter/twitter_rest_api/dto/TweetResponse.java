@@ -81,5 +81,9 @@ public class TweetResponse {
     @JsonIgnore
     private MediaType originalMediaType;
 
+    // ETag için: yanıtın kurulduğu tweet ve kullanıcı satırlarının en yeni updated_at değeri
+    @JsonIgnore
+    private LocalDateTime sourceUpdatedAt;
+
 
 }
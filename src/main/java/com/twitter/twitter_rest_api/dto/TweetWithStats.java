@@ -1,9 +1,23 @@
 package com.twitter.twitter_rest_api.dto;
 
+import com.twitter.twitter_rest_api.entity.MediaType;
+import com.twitter.twitter_rest_api.entity.TweetType;
+
+import java.time.LocalDateTime;
+
+// Timeline okumaları için sadece TweetResponse'un ihtiyaç duyduğu kolonlar, entity yüklenmez
 public interface TweetWithStats {
     Long getId();
+    Long getUserId();
+    Long getParentTweetId();
     String getContent();
-    Long getLikeCount();
-    Long getRetweetCount();
-    Long getReplyCount();
+    TweetType getTweetType();
+    String getMediaUrl();
+    MediaType getMediaType();
+    Integer getLikeCount();
+    Integer getRetweetCount();
+    Integer getReplyCount();
+    LocalDateTime getCreatedAt();
+    boolean isDeleted();
+    LocalDateTime getDeletedAt();
 }
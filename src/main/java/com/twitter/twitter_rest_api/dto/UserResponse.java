@@ -1,5 +1,7 @@
 package com.twitter.twitter_rest_api.dto;
 
+import com.twitter.twitter_rest_api.entity.User;
+
 import java.time.LocalDateTime;
 
 public record UserResponse(Long id,
@@ -15,4 +17,22 @@ public record UserResponse(Long id,
                            Boolean verified,
                            Boolean privateAccount,
                            LocalDateTime createdAt) {
+
+    public static UserResponse from(User user) {
+        return new UserResponse(
+                user.getId(),
+                user.getFullName(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getBio(),
+                user.getProfileImage(),
+                user.getHeaderImage(),
+                user.getFollowersCount(),
+                user.getFollowingCount(),
+                user.getTweetsCount(),
+                user.getVerified(),
+                user.getPrivateAccount(),
+                user.getCreatedAt()
+        );
+    }
 }
@@ -0,0 +1,17 @@
+package com.twitter.twitter_rest_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Kullanıcı otomatik tamamlama önerisi")
+public record UserSuggestion(
+        @Schema(description = "Kullanıcı id")
+        Long id,
+        @Schema(description = "Kullanıcı adı (@handle)")
+        String username,
+        @Schema(description = "Ad soyad")
+        String fullName,
+        @Schema(description = "Profil resmi")
+        String profileImage,
+        @Schema(description = "Takipçi sayısı, indeksin son güncellendiği andaki değer")
+        int followersCount) {
+}
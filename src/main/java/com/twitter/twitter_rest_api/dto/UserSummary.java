@@ -0,0 +1,10 @@
+package com.twitter.twitter_rest_api.dto;
+
+// Tweet yanıtlarında gösterilen yazar bilgileri. User.getUsername() email döndüğü için
+// yanıtlardaki username alanı da email ile doldurulur
+public record UserSummary(Long id, String email, String firstName, String lastName, String profileImage) {
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
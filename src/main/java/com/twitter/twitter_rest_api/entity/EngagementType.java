@@ -0,0 +1,9 @@
+package com.twitter.twitter_rest_api.entity;
+
+// Tweet sayaçlarını değiştiren etkileşim türleri. Alıntılar retweet sayısına dahildir.
+public enum EngagementType {
+    LIKE,
+    RETWEET,
+    REPLY,
+    QUOTE
+}
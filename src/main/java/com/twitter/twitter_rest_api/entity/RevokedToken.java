@@ -0,0 +1,32 @@
+package com.twitter.twitter_rest_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// İptal edilen token'lar; tablo sadece JdbcTokenRevocationStore tarafından okunup yazılır,
+// entity şemanın oluşturulması için tanımlıdır
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "revoked_tokens", schema = "twitterapi",
+        indexes = {
+                @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+                @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+        }
+)
+public class RevokedToken {
+    @Id
+    @Column(name = "jti", length = 64)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
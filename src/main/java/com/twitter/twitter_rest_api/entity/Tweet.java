@@ -8,11 +8,9 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.springframework.scheduling.annotation.Scheduled;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
 
 @NoArgsConstructor
@@ -42,13 +40,15 @@ public class Tweet {
     @Column(name = "media_type")
     private MediaType mediaType=MediaType.NONE;
 
-    @Column(name = "like_count")
+    // Sayaçların tek kaynağı bu kolonlardır; sadece EngagementCounterService'in atomik
+    // UPDATE sorgularıyla değişir, entity kaydedilirken eski değerin üzerine yazılmaması için updatable=false
+    @Column(name = "like_count", updatable = false)
     private Integer likeCount = 0;
 
-    @Column(name = "retweet_count")
+    @Column(name = "retweet_count", updatable = false)
     private Integer retweetCount=0;
 
-    @Column(name = "reply_count")
+    @Column(name = "reply_count", updatable = false)
     private Integer replyCount=0;
 
     @CreationTimestamp
@@ -110,39 +110,6 @@ public class Tweet {
     @Column(name = "original_media_type")
     private MediaType originalMediaType;
 
-    @Scheduled(fixedRate = 300000) // 5 dakikada bir
-    public void updateCounts() {
-        this.likeCount = likes.size();
-        this.retweetCount=retweetedBy.size();
-
-    }
-
-    public void addRetweet(User user){
-        retweetedBy.add(user);
-        this.retweetCount++;
-    }
-
-
-    public void removeRetweet(User user) {
-        if (retweetedBy.remove(user)) {
-            this.retweetCount = Math.max(0, this.retweetCount - 1);
-        }
-    }
-    @Transient
-    public Integer getLikeCount() {
-        return Math.max(likeCount, likes != null ? likes.size() : 0);
-    }
-
-
-    public void incrementReplyCount() {
-        this.replyCount = (this.replyCount == null ? 0 : this.replyCount) + 1;
-    }
-
-    public void decrementReplyCount() {
-        if (this.replyCount != null && this.replyCount > 0) {
-            this.replyCount--;
-        }
-    }
     @PrePersist
     @PreUpdate
     private void prePersist() {
@@ -152,16 +119,6 @@ public class Tweet {
         }
     }
 
-
-    // Tweet silinmeden önce parent tweet'in sayaçlarını güncelle
-    @PreRemove
-    private void preRemove() {
-        if (this.parentTweet != null) {
-            if (Objects.requireNonNull(this.tweetType) == TweetType.REPLY) {
-                this.parentTweet.decrementReplyCount();
-            }
-        }
-    }
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,56 @@
+package com.twitter.twitter_rest_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Tweet yazılırken ayrıştırılan hashtagler. created_at tweet'in oluşturulma zamanıdır;
+// (tag, created_at, tweet_id) indeksi bir etiketin tweetlerini en yeniden eskiye aralık okumasıyla verir
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "tweet_hashtags", schema = "twitterapi",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        columnNames = {"tweet_id", "tag"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_tweet_hashtags_tag_created", columnList = "tag, created_at, tweet_id")
+        }
+)
+public class TweetHashtag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tag", nullable = false, length = 100)
+    private String tag;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tweet_id", nullable = false)
+    private Tweet tweet;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Tweet gibi: eşitlik sadece id ile, lazy tweet ilişkisi yüklenmez
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TweetHashtag)) return false;
+        TweetHashtag other = (TweetHashtag) o;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
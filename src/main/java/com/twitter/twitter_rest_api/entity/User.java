@@ -81,7 +81,8 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @Column(name = "last_login_at")
+    // Sadece LastLoginRecorder'ın toplu UPDATE'i yazar; entity kaydedilirken eski değer yazılmasın diye updatable=false
+    @Column(name = "last_login_at", updatable = false)
     private LocalDateTime lastLoginAt;
 
     @ManyToMany(fetch = FetchType.EAGER)
@@ -0,0 +1,7 @@
+package com.twitter.twitter_rest_api.event;
+
+// Takip/takipten çıkma işleminden sonra yayınlanır
+public record FollowChangedEvent(Long followerId,
+                                 Long followedId,
+                                 boolean following) {
+}
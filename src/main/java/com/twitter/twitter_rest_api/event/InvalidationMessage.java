@@ -0,0 +1,62 @@
+package com.twitter.twitter_rest_api.event;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Node'lar arasında gönderilen önbellek geçersiz kılma mesajı. Kanalda kısa bir metin olarak
+// taşınır: "t:12,15" tweet çekirdekleri, "u:7" kullanıcı profili ve principal, "*:" her şey
+public record InvalidationMessage(Type type, List<Long> ids) {
+    public static final InvalidationMessage ALL = new InvalidationMessage(Type.ALL, List.of());
+
+    public enum Type {
+        TWEET('t'),
+        USER('u'),
+        // Mesaj kaçırılmış olabilir (ör. bağlantı koptu), tüm yakın önbellekler temizlenir
+        ALL('*');
+
+        private final char code;
+
+        Type(char code) {
+            this.code = code;
+        }
+
+        static Type fromCode(char code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Bilinmeyen mesaj tipi: " + code);
+        }
+    }
+
+    public InvalidationMessage {
+        ids = List.copyOf(ids);
+    }
+
+    public static InvalidationMessage tweets(Collection<Long> tweetIds) {
+        return new InvalidationMessage(Type.TWEET, List.copyOf(tweetIds));
+    }
+
+    public static InvalidationMessage users(Long... userIds) {
+        return new InvalidationMessage(Type.USER, List.of(userIds));
+    }
+
+    public String encode() {
+        return type.code + ":" + ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    public static InvalidationMessage decode(String payload) {
+        if (payload.length() < 2 || payload.charAt(1) != ':') {
+            throw new IllegalArgumentException("Geçersiz mesaj: " + payload);
+        }
+        Type type = Type.fromCode(payload.charAt(0));
+        String body = payload.substring(2);
+        List<Long> ids = body.isEmpty()
+                ? List.of()
+                : Arrays.stream(body.split(",")).map(Long::valueOf).toList();
+        return new InvalidationMessage(type, ids);
+    }
+}
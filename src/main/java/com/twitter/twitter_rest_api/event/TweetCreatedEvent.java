@@ -0,0 +1,13 @@
+package com.twitter.twitter_rest_api.event;
+
+import com.twitter.twitter_rest_api.entity.TweetType;
+
+import java.time.LocalDateTime;
+
+// Yeni tweet/retweet/alıntı/yanıt kaydedildiğinde yayınlanır
+public record TweetCreatedEvent(Long tweetId,
+                                Long authorId,
+                                TweetType tweetType,
+                                LocalDateTime createdAt,
+                                String content) {
+}
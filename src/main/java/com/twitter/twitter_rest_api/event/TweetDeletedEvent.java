@@ -0,0 +1,6 @@
+package com.twitter.twitter_rest_api.event;
+
+// Tweet silindiğinde ya da retweet geri alındığında yayınlanır
+public record TweetDeletedEvent(Long tweetId,
+                                Long authorId) {
+}
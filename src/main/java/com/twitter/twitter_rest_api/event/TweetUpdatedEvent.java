@@ -0,0 +1,6 @@
+package com.twitter.twitter_rest_api.event;
+
+// Tweet içeriği düzenlendiğinde yayınlanır
+public record TweetUpdatedEvent(Long tweetId,
+                                String content) {
+}
@@ -0,0 +1,6 @@
+package com.twitter.twitter_rest_api.event;
+
+// Kullanıcının profil ya da rol bilgileri değiştiğinde yayınlanır
+public record UserChangedEvent(Long userId,
+                               String email) {
+}
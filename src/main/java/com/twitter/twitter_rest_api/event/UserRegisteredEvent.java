@@ -0,0 +1,5 @@
+package com.twitter.twitter_rest_api.event;
+
+// Yeni kullanıcı kaydedildiğinde yayınlanır
+public record UserRegisteredEvent(Long userId) {
+}
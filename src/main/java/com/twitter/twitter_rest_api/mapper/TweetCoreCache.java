@@ -0,0 +1,59 @@
+package com.twitter.twitter_rest_api.mapper;
+
+import com.twitter.twitter_rest_api.config.CacheConfig;
+import com.twitter.twitter_rest_api.dto.TweetResponse;
+import com.twitter.twitter_rest_api.event.InvalidationMessage;
+import com.twitter.twitter_rest_api.service.InvalidationBus;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+// Beğeni/retweet bayrakları olmadan üretilmiş TweetResponse'lar. Önbellekteki nesneler
+// paylaşıldığı için değiştirilmez, yanıt üretilirken kopyalanır.
+// İçerik ya da sayaç değiştiğinde tweet'in kaydı silinir; yazar bilgileri TTL ile yenilenir.
+// Silme diğer node'lara da invalidation bus üzerinden iletilir
+@Component
+public class TweetCoreCache {
+    private final Cache cache;
+    private final InvalidationBus invalidationBus;
+
+    public TweetCoreCache(CacheManager cacheManager, InvalidationBus invalidationBus) {
+        this.cache = cacheManager.getCache(CacheConfig.TWEET_CORES);
+        this.invalidationBus = invalidationBus;
+    }
+
+    TweetResponse get(Long tweetId) {
+        return cache.get(tweetId, TweetResponse.class);
+    }
+
+    void put(Long tweetId, TweetResponse core) {
+        cache.put(tweetId, core);
+    }
+
+    public void evict(Long tweetId) {
+        if (tweetId != null) {
+            cache.evict(tweetId);
+            invalidationBus.publish(InvalidationMessage.tweets(List.of(tweetId)));
+        }
+    }
+
+    public void evictAll(Collection<Long> tweetIds) {
+        if (tweetIds.isEmpty()) {
+            return;
+        }
+        tweetIds.forEach(cache::evict);
+        invalidationBus.publish(InvalidationMessage.tweets(tweetIds));
+    }
+
+    // Başka node'dan gelen mesaj için: sadece bu node, commit beklenmeden
+    public void evictLocal(Long tweetId) {
+        cache.evictIfPresent(tweetId);
+    }
+
+    public void clearLocal() {
+        cache.invalidate();
+    }
+}
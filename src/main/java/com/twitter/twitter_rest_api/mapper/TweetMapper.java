@@ -2,41 +2,183 @@ package com.twitter.twitter_rest_api.mapper;
 
 import com.twitter.twitter_rest_api.dto.TweetDetailResponse;
 import com.twitter.twitter_rest_api.dto.TweetResponse;
+import com.twitter.twitter_rest_api.dto.TweetWithStats;
+import com.twitter.twitter_rest_api.dto.UserSummary;
 import com.twitter.twitter_rest_api.entity.Tweet;
 import com.twitter.twitter_rest_api.entity.TweetType;
 import com.twitter.twitter_rest_api.entity.User;
 import com.twitter.twitter_rest_api.repository.TweetLikeRepository;
 import com.twitter.twitter_rest_api.repository.TweetRepository;
+import com.twitter.twitter_rest_api.repository.UserRepository;
+import com.twitter.twitter_rest_api.service.ConversationThreadLoader;
+import com.twitter.twitter_rest_api.service.EngagementCounterService;
+import com.twitter.twitter_rest_api.service.EngagementCounterService.PendingCounts;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class TweetMapper {
     private final TweetLikeRepository tweetLikeRepository;
     private final TweetRepository tweetRepository;
+    private final UserRepository userRepository;
+    private final EngagementCounterService engagementCounterService;
+    private final ConversationThreadLoader conversationThreadLoader;
+    private final TweetCoreCache tweetCoreCache;
 
     public TweetResponse toTweetResponse(Tweet tweet, User currentUser) {
+        return toTweetResponse(tweet, resolveViewerState(List.of(tweet), currentUser));
+    }
+
+    // Sayfadaki tüm tweetlerin beğeni/retweet durumu iki sorguda çözülür
+    public Page<TweetResponse> toTweetResponses(Page<Tweet> tweets, User currentUser) {
+        ViewerState viewerState = resolveViewerState(tweets.getContent(), currentUser);
+        return tweets.map(tweet -> toTweetResponse(tweet, viewerState));
+    }
+
+    public List<TweetResponse> toTweetResponses(List<Tweet> tweets, User currentUser) {
+        ViewerState viewerState = resolveViewerState(tweets, currentUser);
+        return tweets.stream()
+                .map(tweet -> toTweetResponse(tweet, viewerState))
+                .toList();
+    }
+
+    // Projeksiyon satırlarından yanıt üretir: parent tweetler ve yazarlar birer toplu sorguyla okunur
+    public Page<TweetResponse> toTweetResponsesFromStats(Page<TweetWithStats> tweets, Long viewerId) {
+        return new PageImpl<>(toTweetResponsesFromStats(tweets.getContent(), viewerId),
+                tweets.getPageable(), tweets.getTotalElements());
+    }
+
+    public List<TweetResponse> toTweetResponsesFromStats(List<TweetWithStats> rows, Long viewerId) {
+
+        Set<Long> parentIds = rows.stream()
+                .filter(row -> row.getTweetType() == TweetType.RETWEET || row.getTweetType() == TweetType.REPLY)
+                .map(TweetWithStats::getParentTweetId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, TweetWithStats> parentsById = parentIds.isEmpty()
+                ? Map.of()
+                : tweetRepository.findStatsByIdIn(parentIds).stream()
+                        .collect(Collectors.toMap(TweetWithStats::getId, Function.identity()));
+
+        Set<Long> authorIds = new HashSet<>();
+        rows.forEach(row -> authorIds.add(row.getUserId()));
+        parentsById.values().forEach(parent -> authorIds.add(parent.getUserId()));
+        Map<Long, UserSummary> authorsById = authorIds.isEmpty()
+                ? Map.of()
+                : userRepository.findSummariesByIdIn(authorIds).stream()
+                        .collect(Collectors.toMap(UserSummary::id, Function.identity()));
+
+        // Beğeni/retweet kontrolü: retweetlerde orijinal tweet, diğerlerinde kendisi
+        Set<Long> targetIds = new LinkedHashSet<>();
+        for (TweetWithStats row : rows) {
+            TweetWithStats target = row.getTweetType() == TweetType.RETWEET ? parentsById.get(row.getParentTweetId()) : row;
+            if (target != null && !target.isDeleted()) {
+                targetIds.add(target.getId());
+            }
+        }
+        ViewerState viewerState = resolveViewerState(targetIds, viewerId);
+
+        return rows.stream()
+                .map(row -> toTweetResponse(row, parentsById, authorsById, viewerState))
+                .toList();
+    }
+
+    private TweetResponse toTweetResponse(TweetWithStats tweet,
+                                          Map<Long, TweetWithStats> parentsById,
+                                          Map<Long, UserSummary> authorsById,
+                                          ViewerState viewerState) {
+        TweetResponse response = new TweetResponse();
+        response.setId(tweet.getId());
+        mapUserInfo(response, authorsById.get(tweet.getUserId()));
+
+        if (tweet.getTweetType() == TweetType.RETWEET) {
+            TweetWithStats originalTweet = parentsById.get(tweet.getParentTweetId());
+            UserSummary originalUser = authorsById.get(originalTweet.getUserId());
+            if (originalTweet.isDeleted()) {
+                mapDeletedTweetInfo(response, originalTweet);
+            } else {
+                mapViewerState(response, originalTweet.getId(), viewerState);
+                mapTweetInfo(response, originalTweet);
+            }
+            mapOriginalUserInfo(response, originalUser);
+            response.setTweetType(TweetType.RETWEET);
+            response.setParentTweetID(originalTweet.getId());
+            response.setParentTweetUserId(originalUser.id());
+            response.setRetweetedAt(tweet.getCreatedAt());
+        } else if (tweet.getTweetType() == TweetType.REPLY) {
+            TweetWithStats parentTweet = parentsById.get(tweet.getParentTweetId());
+            UserSummary parentUser = authorsById.get(parentTweet.getUserId());
+            if (tweet.isDeleted()) {
+                mapDeletedTweetInfo(response, tweet);
+            } else {
+                mapViewerState(response, tweet.getId(), viewerState);
+                mapTweetInfo(response, tweet);
+            }
+            mapOriginalUserInfo(response, parentUser);
+            response.setParentTweetDeleted(parentTweet.isDeleted());
+            response.setTweetType(TweetType.REPLY);
+            response.setParentTweetID(parentTweet.getId());
+            response.setParentTweetUserId(parentUser.id());
+        } else if (tweet.isDeleted()) {
+            mapDeletedTweetInfo(response, tweet);
+        } else {
+            mapViewerState(response, tweet.getId(), viewerState);
+            mapTweetInfo(response, tweet);
+        }
+        return response;
+    }
+
+    private TweetResponse toTweetResponse(Tweet tweet, ViewerState viewerState) {
         TweetResponse response = new TweetResponse();
         response.setId(tweet.getId());
 
         if (tweet.getTweetType() == TweetType.RETWEET) {
-            mapRetweetResponse(response, tweet, currentUser);
+            mapRetweetResponse(response, tweet, viewerState);
         } else if (tweet.getTweetType() == TweetType.REPLY) {
-            mapReplyResponse(response, tweet, currentUser);
+            mapReplyResponse(response, tweet, viewerState);
         } else {
-            mapNormalTweetResponse(response, tweet, currentUser);
+            mapNormalTweetResponse(response, tweet, viewerState);
         }
+        response.setSourceUpdatedAt(sourceUpdatedAt(tweet));
 
         return response;
     }
 
-    private void mapRetweetResponse(TweetResponse response, Tweet tweet, User currentUser) {
+    // Yanıtta tweet, yazarı ve varsa parent tweet ile yazarı gösterilir; herhangi biri değişince artar
+    private static LocalDateTime sourceUpdatedAt(Tweet tweet) {
+        LocalDateTime latest = latest(tweet.getUpdatedAt(), tweet.getUser().getUpdatedAt());
+        Tweet parent = tweet.getParentTweet();
+        if (parent != null) {
+            latest = latest(latest, latest(parent.getUpdatedAt(), parent.getUser().getUpdatedAt()));
+        }
+        return latest;
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second != null && second.isAfter(first) ? second : first;
+    }
+
+    private void mapRetweetResponse(TweetResponse response, Tweet tweet, ViewerState viewerState) {
         Tweet originalTweet = tweet.getParentTweet();
 
         // Retweet yapan kullanıcı bilgileri her zaman gösterilir
@@ -47,14 +189,7 @@ public class TweetMapper {
             mapDeletedOriginalTweetInfo(response, originalTweet);
         } else {
             // Orijinal tweet silinmemişse
-            response.setLiked(originalTweet.getLikes().stream()
-                    .anyMatch(like -> like.getUser().getId().equals(currentUser.getId())));
-
-            Optional<Tweet> userRetweet = tweetRepository.findByUserAndParentTweetAndTweetType(
-                    currentUser, originalTweet, TweetType.RETWEET);
-            response.setRetweeted(userRetweet.isPresent());
-            userRetweet.ifPresent(rt -> response.setRetweetId(rt.getId()));
-
+            mapViewerState(response, originalTweet.getId(), viewerState);
             mapOriginalTweetInfo(response, originalTweet);
         }
 
@@ -64,21 +199,14 @@ public class TweetMapper {
         response.setRetweetedAt(tweet.getCreatedAt());
     }
 
-    private void mapReplyResponse(TweetResponse response, Tweet tweet, User currentUser) {
+    private void mapReplyResponse(TweetResponse response, Tweet tweet, ViewerState viewerState) {
         Tweet parentTweet = tweet.getParentTweet();
 
         // Reply tweet'inin kendisi silinmiş mi kontrol et
         if (tweet.isDeleted()) {
             mapDeletedTweetInfo(response, tweet);
         } else {
-            response.setLiked(tweet.getLikes().stream()
-                    .anyMatch(like -> like.getUser().getId().equals(currentUser.getId())));
-
-            Optional<Tweet> userRetweet = tweetRepository.findByUserAndParentTweetAndTweetType(
-                    currentUser, tweet, TweetType.RETWEET);
-            response.setRetweeted(userRetweet.isPresent());
-            userRetweet.ifPresent(rt -> response.setRetweetId(rt.getId()));
-
+            mapViewerState(response, tweet.getId(), viewerState);
             mapTweetInfo(response, tweet);
         }
 
@@ -99,17 +227,11 @@ public class TweetMapper {
         response.setParentTweetUserId(parentTweet.getUser().getId());
     }
 
-    private void mapNormalTweetResponse(TweetResponse response, Tweet tweet, User currentUser) {
+    private void mapNormalTweetResponse(TweetResponse response, Tweet tweet, ViewerState viewerState) {
         if (tweet.isDeleted()) {
             mapDeletedTweetInfo(response, tweet);
         } else {
-            response.setLiked(tweetLikeRepository.findByUserAndTweet(currentUser, tweet).isPresent());
-
-            Optional<Tweet> userRetweet = tweetRepository.findByUserAndParentTweetAndTweetType(
-                    currentUser, tweet, TweetType.RETWEET);
-            response.setRetweeted(userRetweet.isPresent());
-            userRetweet.ifPresent(rt -> response.setRetweetId(rt.getId()));
-
+            mapViewerState(response, tweet.getId(), viewerState);
             mapTweetInfo(response, tweet);
         }
 
@@ -117,13 +239,20 @@ public class TweetMapper {
         mapUserInfo(response, tweet.getUser());
     }
 
+    private void mapViewerState(TweetResponse response, Long targetTweetId, ViewerState viewerState) {
+        Long retweetId = viewerState.retweetIds().get(targetTweetId);
+        response.setLiked(viewerState.likedTweetIds().contains(targetTweetId));
+        response.setRetweeted(retweetId != null);
+        response.setRetweetId(retweetId);
+    }
+
     private void mapDeletedTweetInfo(TweetResponse response, Tweet tweet) {
         response.setContent("Bu tweet silinmiş");
         response.setMediaUrl(null);
         response.setMediaType(null);
         response.setLikeCount(0);
         response.setRetweetCount(0);
-        response.setReplyCount(tweet.getReplyCount()); // Reply count'u koruyoruz
+        response.setReplyCount(withPending(tweet.getReplyCount(), engagementCounterService.pending(tweet.getId()).replies())); // Reply count'u koruyoruz
         response.setCreatedAt(tweet.getCreatedAt());
         response.setDeletedAt(tweet.getDeletedAt());
         response.setDeleted(true);
@@ -135,7 +264,7 @@ public class TweetMapper {
         response.setMediaType(null);
         response.setLikeCount(0);
         response.setRetweetCount(0);
-        response.setReplyCount(originalTweet.getReplyCount());
+        response.setReplyCount(withPending(originalTweet.getReplyCount(), engagementCounterService.pending(originalTweet.getId()).replies()));
         response.setCreatedAt(originalTweet.getCreatedAt());
         response.setDeletedAt(originalTweet.getDeletedAt());
         response.setDeleted(true);
@@ -171,9 +300,40 @@ public class TweetMapper {
         response.setContent(tweet.getContent());
         response.setMediaUrl(tweet.getMediaUrl());
         response.setMediaType(tweet.getMediaType());
-        response.setLikeCount(tweet.getLikeCount());
-        response.setRetweetCount(tweet.getRetweetCount());
-        response.setReplyCount(tweet.getReplyCount());
+        // Henüz yazılmamış sayaç deltaları DB değerinin üzerine eklenir
+        PendingCounts pending = engagementCounterService.pending(tweet.getId());
+        response.setLikeCount(withPending(tweet.getLikeCount(), pending.likes()));
+        response.setRetweetCount(withPending(tweet.getRetweetCount(), pending.retweets()));
+        response.setReplyCount(withPending(tweet.getReplyCount(), pending.replies()));
+        response.setCreatedAt(tweet.getCreatedAt());
+        response.setTweetType(tweet.getTweetType());
+        response.setDeleted(tweet.isDeleted());
+        if (tweet.isDeleted()) {
+            response.setDeletedAt(tweet.getDeletedAt());
+        }
+    }
+
+    private void mapUserInfo(TweetResponse response, UserSummary user) {
+        response.setUsername(user.email());
+        response.setUserFullName(user.fullName());
+        response.setUserProfileImage(user.profileImage());
+        response.setUserId(user.id());
+    }
+
+    private void mapOriginalUserInfo(TweetResponse response, UserSummary user) {
+        response.setOriginalUsername(user.email());
+        response.setOriginalUserFullName(user.fullName());
+        response.setOriginalUserProfileImage(user.profileImage());
+    }
+
+    private void mapTweetInfo(TweetResponse response, TweetWithStats tweet) {
+        response.setContent(tweet.getContent());
+        response.setMediaUrl(tweet.getMediaUrl());
+        response.setMediaType(tweet.getMediaType());
+        PendingCounts pending = engagementCounterService.pending(tweet.getId());
+        response.setLikeCount(withPending(tweet.getLikeCount(), pending.likes()));
+        response.setRetweetCount(withPending(tweet.getRetweetCount(), pending.retweets()));
+        response.setReplyCount(withPending(tweet.getReplyCount(), pending.replies()));
         response.setCreatedAt(tweet.getCreatedAt());
         response.setTweetType(tweet.getTweetType());
         response.setDeleted(tweet.isDeleted());
@@ -181,39 +341,179 @@ public class TweetMapper {
             response.setDeletedAt(tweet.getDeletedAt());
         }
     }
+
+    private void mapDeletedTweetInfo(TweetResponse response, TweetWithStats tweet) {
+        response.setContent("Bu tweet silinmiş");
+        response.setMediaUrl(null);
+        response.setMediaType(null);
+        response.setLikeCount(0);
+        response.setRetweetCount(0);
+        response.setReplyCount(withPending(tweet.getReplyCount(), engagementCounterService.pending(tweet.getId()).replies()));
+        response.setCreatedAt(tweet.getCreatedAt());
+        response.setDeletedAt(tweet.getDeletedAt());
+        response.setDeleted(true);
+    }
+
+    private static int withPending(Integer stored, long pending) {
+        long total = (stored != null ? stored : 0) + pending;
+        return (int) Math.max(total, 0);
+    }
     public TweetDetailResponse toTweetDetailResponse(Tweet tweet, User currentUser) {
+        // Ata zinciri tek recursive sorguyla, en eski tweet'ten başlayarak gelir
+        List<Tweet> ancestors = conversationThreadLoader.loadAncestors(tweet);
+
+        // Tweet ve tüm zincir için beğeni/retweet durumu tek seferde çözülür
+        List<Tweet> allTweets = new ArrayList<>(ancestors);
+        allTweets.add(tweet);
+        ViewerState viewerState = resolveViewerState(allTweets, currentUser);
+
         TweetDetailResponse response = new TweetDetailResponse();
         // TweetResponse'dan gelen temel alanları doldur
-        copyTweetResponseFields(response, toTweetResponse(tweet, currentUser));
+        copyTweetResponseFields(response, toTweetResponse(tweet, viewerState));
+
+        // Konuşma zincirini oluştur
+        List<TweetResponse> thread = ancestors.stream()
+                .map(ancestor -> toTweetResponse(ancestor, viewerState))
+                .toList();
 
-        // Parent tweet varsa ekle
-        if (tweet.getParentTweet() != null) {
-            response.setParentTweet(toTweetResponse(tweet.getParentTweet(), currentUser));
+        // Parent tweet varsa ekle (zincirin son elemanı)
+        if (!thread.isEmpty()) {
+            response.setParentTweet(thread.get(thread.size() - 1));
         }
 
-        // Konuşma zincirini oluştur
-        response.setConversationThread(buildConversationThread(tweet, currentUser));
-        response.setPartOfThread(response.getConversationThread() != null &&
-                !response.getConversationThread().isEmpty());
+        response.setConversationThread(thread);
+        response.setPartOfThread(!thread.isEmpty());
 
         return response;
     }
 
 
 
-    private List<TweetResponse> buildConversationThread(Tweet tweet, User currentUser) {
-        List<TweetResponse> thread = new ArrayList<>();
-        Tweet current = tweet.getParentTweet();
+    // Tweet ve ata zinciri önbellekteki çekirdeklerden kurulur, sadece eksik olanlar yüklenir.
+    // Görüntüleyene özel beğeni/retweet bayrakları her istekte kopyaların üzerine eklenir
+    public Optional<TweetDetailResponse> toTweetDetailResponse(Long tweetId, Long viewerId) {
+        List<Long> chainIds = conversationThreadLoader.loadChainIds(tweetId);
+        Map<Long, TweetResponse> cores = loadCores(chainIds);
+        if (!cores.containsKey(tweetId)) {
+            return Optional.empty();
+        }
+
+        // Retweet ve yanıtların orijinal/parent tweet'ten gelen alanları zincirdeki güncel çekirdekten alınır
+        List<TweetResponse> chain = new ArrayList<>(chainIds.size());
+        TweetResponse previous = null;
+        for (Long id : chainIds) {
+            TweetResponse core = cores.get(id);
+            if (core == null) {
+                continue;
+            }
+            TweetResponse response = new TweetResponse();
+            copyTweetResponseFields(response, core);
+            if (previous != null && Objects.equals(core.getParentTweetID(), previous.getId())) {
+                if (core.getTweetType() == TweetType.RETWEET) {
+                    copyOriginalTweetFields(response, previous);
+                } else if (core.getTweetType() == TweetType.REPLY) {
+                    response.setParentTweetDeleted(previous.isDeleted());
+                }
+            }
+            chain.add(response);
+            previous = core;
+        }
+
+        Set<Long> targetIds = new LinkedHashSet<>();
+        for (TweetResponse response : chain) {
+            if (!response.isDeleted()) {
+                targetIds.add(response.getTweetType() == TweetType.RETWEET ? response.getParentTweetID() : response.getId());
+            }
+        }
+        ViewerState viewerState = resolveViewerState(targetIds, viewerId);
+        for (TweetResponse response : chain) {
+            if (!response.isDeleted()) {
+                mapViewerState(response,
+                        response.getTweetType() == TweetType.RETWEET ? response.getParentTweetID() : response.getId(),
+                        viewerState);
+            }
+        }
+
+        TweetDetailResponse detail = new TweetDetailResponse();
+        copyTweetResponseFields(detail, chain.get(chain.size() - 1));
+        List<TweetResponse> thread = chain.subList(0, chain.size() - 1);
+        if (!thread.isEmpty()) {
+            detail.setParentTweet(thread.get(thread.size() - 1));
+        }
+        detail.setConversationThread(List.copyOf(thread));
+        detail.setPartOfThread(!thread.isEmpty());
+        return Optional.of(detail);
+    }
 
-        while (current != null) {
-            thread.add(toTweetResponse(current, currentUser));
-            current = current.getParentTweet();
+    private Map<Long, TweetResponse> loadCores(List<Long> tweetIds) {
+        Map<Long, TweetResponse> cores = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : tweetIds) {
+            TweetResponse core = tweetCoreCache.get(id);
+            if (core != null) {
+                cores.put(id, core);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            for (Tweet tweet : tweetRepository.findAllWithUserByIdIn(missingIds)) {
+                TweetResponse core = toTweetResponse(tweet, ViewerState.EMPTY);
+                tweetCoreCache.put(tweet.getId(), core);
+                cores.put(tweet.getId(), core);
+            }
         }
+        return cores;
+    }
+
+    // Retweet yanıtında orijinal tweet'ten gelen alanlar
+    private void copyOriginalTweetFields(TweetResponse retweet, TweetResponse original) {
+        retweet.setContent(original.getContent());
+        retweet.setMediaUrl(original.getMediaUrl());
+        retweet.setMediaType(original.getMediaType());
+        retweet.setLikeCount(original.getLikeCount());
+        retweet.setRetweetCount(original.getRetweetCount());
+        retweet.setReplyCount(original.getReplyCount());
+        retweet.setDeleted(original.isDeleted());
+        retweet.setDeletedAt(original.getDeletedAt());
+        retweet.setOriginalUsername(original.getUsername());
+        retweet.setOriginalUserFullName(original.getUserFullName());
+        retweet.setOriginalUserProfileImage(original.getUserProfileImage());
+    }
+
+    // Beğeni/retweet kontrolü yapılacak tweetler: retweetlerde orijinal tweet, diğerlerinde kendisi
+    private ViewerState resolveViewerState(Collection<Tweet> tweets, User currentUser) {
+        // Tweet.hashCode sabit olduğu için tekilleştirme id üzerinden yapılır
+        Set<Long> targetIds = new LinkedHashSet<>();
+        for (Tweet tweet : tweets) {
+            Tweet target = tweet.getTweetType() == TweetType.RETWEET ? tweet.getParentTweet() : tweet;
+            if (target != null && !target.isDeleted()) {
+                targetIds.add(target.getId());
+            }
+        }
+        return resolveViewerState(targetIds, currentUser != null ? currentUser.getId() : null);
+    }
+
+    private ViewerState resolveViewerState(Collection<Long> targetIds, Long viewerId) {
+        if (targetIds.isEmpty() || viewerId == null) {
+            return ViewerState.EMPTY;
+        }
+
+        Set<Long> likedTweetIds = new HashSet<>(
+                tweetLikeRepository.findLikedTweetIdsByUserIdAndTweetIdIn(viewerId, targetIds));
+
+        Map<Long, Long> retweetIds = new HashMap<>();
+        tweetRepository.findRetweetRefsByUserIdAndParentTweetIdIn(viewerId, targetIds)
+                .forEach(retweet -> retweetIds.put(retweet.getParentTweetId(), retweet.getRetweetId()));
+
+        return new ViewerState(likedTweetIds, retweetIds);
+    }
 
-        Collections.reverse(thread); // En eski tweet'ten başlayarak sırala
-        return thread;
+    // Aktif kullanıcının beğendiği tweet id'leri ve retweet ettiği tweet id -> retweet id eşlemesi
+    private record ViewerState(Set<Long> likedTweetIds, Map<Long, Long> retweetIds) {
+        private static final ViewerState EMPTY = new ViewerState(Set.of(), Map.of());
     }
-    private void copyTweetResponseFields(TweetDetailResponse target, TweetResponse source) {
+    private void copyTweetResponseFields(TweetResponse target, TweetResponse source) {
         target.setId(source.getId());
         target.setUserId(source.getUserId());
         target.setContent(source.getContent());
@@ -239,5 +539,6 @@ public class TweetMapper {
         target.setDeleted(source.isDeleted());
         target.setDeletedAt(source.getDeletedAt());
         target.setParentTweetDeleted(source.isParentTweetDeleted());
+        target.setSourceUpdatedAt(source.getSourceUpdatedAt());
     }
 }
\ No newline at end of file
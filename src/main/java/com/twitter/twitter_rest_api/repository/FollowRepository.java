@@ -12,13 +12,20 @@ import java.util.List;
 import java.util.Optional;
 
 public interface FollowRepository extends JpaRepository<Follow,Long> {
-    // Bir kullanıcının takipçilerini getir
-    @Query("SELECT f.takipciler FROM Follow f WHERE f.takipedilenler.id = :userId")
-    Page<User> findFollowersByUserId(@Param("userId") Long userId, Pageable pageable);
+    // Takipçi/takip edilen sayfaları için sadece id'ler, profiller önbellekten doldurulur
+    @Query("SELECT f.takipciler.id FROM Follow f WHERE f.takipedilenler.id = :userId")
+    Page<Long> findFollowerIdsByUserId(@Param("userId") Long userId, Pageable pageable);
 
-    // Bir kullanıcının takip ettiklerini getir
-    @Query("SELECT f.takipedilenler FROM Follow f WHERE f.takipciler.id = :userId")
-    Page<User> findFollowingsByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query("SELECT f.takipedilenler.id FROM Follow f WHERE f.takipciler.id = :userId")
+    Page<Long> findFollowingIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Timeline fan-out için sadece takipçi id'lerini getir
+    @Query("SELECT f.takipciler.id FROM Follow f WHERE f.takipedilenler.id = :userId")
+    List<Long> findFollowerIdsByUserId(@Param("userId") Long userId);
+
+    // Timeline ısıtma için sadece takip edilen id'lerini getir
+    @Query("SELECT f.takipedilenler.id FROM Follow f WHERE f.takipciler.id = :userId")
+    List<Long> findFollowingIdsByUserId(@Param("userId") Long userId);
 
     // İki kullanıcı arasındaki takip ilişkisini kontrol et
     @Query("SELECT f FROM Follow f WHERE f.takipciler.id = :followerId AND f.takipedilenler.id = :followingId")
@@ -0,0 +1,43 @@
+package com.twitter.twitter_rest_api.repository;
+
+import com.twitter.twitter_rest_api.dto.TweetCursor;
+import com.twitter.twitter_rest_api.entity.TweetHashtag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TweetHashtagRepository extends JpaRepository<TweetHashtag, Long> {
+    // Etiketin tweetleri en yeniden eskiye; sadece indeks okunur, tweets tablosuna gidilmez
+    @Query("""
+        SELECT new com.twitter.twitter_rest_api.dto.TweetCursor(h.createdAt, h.tweet.id)
+        FROM TweetHashtag h
+        WHERE h.tag = :tag
+        ORDER BY h.createdAt DESC, h.tweet.id DESC
+        """)
+    Slice<TweetCursor> findCursorsByTag(@Param("tag") String tag, Pageable pageable);
+
+    @Query("""
+        SELECT new com.twitter.twitter_rest_api.dto.TweetCursor(h.createdAt, h.tweet.id)
+        FROM TweetHashtag h
+        WHERE h.tag = :tag
+        AND (h.createdAt < :createdAt OR (h.createdAt = :createdAt AND h.tweet.id < :id))
+        ORDER BY h.createdAt DESC, h.tweet.id DESC
+        """)
+    Slice<TweetCursor> findCursorsByTagBefore(@Param("tag") String tag,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    @Query("SELECT h FROM TweetHashtag h WHERE h.tweet.id = :tweetId")
+    List<TweetHashtag> findByTweetId(@Param("tweetId") Long tweetId);
+
+    @Modifying
+    @Query("DELETE FROM TweetHashtag h WHERE h.tweet.id = :tweetId")
+    int deleteByTweetId(@Param("tweetId") Long tweetId);
+}
@@ -5,9 +5,11 @@ import com.twitter.twitter_rest_api.entity.TweetLike;
 import com.twitter.twitter_rest_api.entity.TweetType;
 import com.twitter.twitter_rest_api.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,5 +39,24 @@ public interface TweetLikeRepository extends JpaRepository<TweetLike,Long> {
 
     // Toplu beğeni kontrolü için (N+1 sorgu problemini önlemek için)
     @Query("SELECT tl FROM TweetLike tl WHERE tl.user = :user AND tl.tweet IN :tweets")
-    List<TweetLike> findByUserAndTweetIn(@Param("user") User user, @Param("tweets") List<Tweet> tweets);
+    List<TweetLike> findByUserAndTweetIn(@Param("user") User user, @Param("tweets") Collection<Tweet> tweets);
+
+    // Beğeni zaten varsa hiçbir şey yapmaz; eklenen satır sayısını döner (0 ya da 1)
+    @Modifying
+    @Query(value = """
+        INSERT INTO twitterapi.tweet_likes (tweet_id, user_id, created_at)
+        VALUES (:tweetId, :userId, CURRENT_TIMESTAMP)
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("tweetId") Long tweetId, @Param("userId") Long userId);
+
+    // Silinen satır sayısını döner (0 ya da 1)
+    @Modifying
+    @Query("DELETE FROM TweetLike l WHERE l.tweet.id = :tweetId AND l.user.id = :userId")
+    int deleteByTweetIdAndUserId(@Param("tweetId") Long tweetId, @Param("userId") Long userId);
+
+    // Toplu beğeni kontrolü, sadece id'ler okunur
+    @Query("SELECT l.tweet.id FROM TweetLike l WHERE l.user.id = :userId AND l.tweet.id IN :tweetIds")
+    List<Long> findLikedTweetIdsByUserIdAndTweetIdIn(@Param("userId") Long userId,
+                                                     @Param("tweetIds") Collection<Long> tweetIds);
 }
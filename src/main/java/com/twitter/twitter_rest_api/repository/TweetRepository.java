@@ -1,34 +1,47 @@
 package com.twitter.twitter_rest_api.repository;
 
+import com.twitter.twitter_rest_api.dto.TweetCursor;
 import com.twitter.twitter_rest_api.dto.TweetWithStats;
 import com.twitter.twitter_rest_api.entity.Tweet;
 import com.twitter.twitter_rest_api.entity.TweetType;
 import com.twitter.twitter_rest_api.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface TweetRepository extends JpaRepository<Tweet,Long> {
+    // TweetWithStats projeksiyonunun kolonları
+    String TWEET_STATS_COLUMNS = """
+        t.id AS id, t.user.id AS userId, t.parentTweet.id AS parentTweetId,
+        t.content AS content, t.tweetType AS tweetType, t.mediaUrl AS mediaUrl, t.mediaType AS mediaType,
+        t.likeCount AS likeCount, t.retweetCount AS retweetCount, t.replyCount AS replyCount,
+        t.createdAt AS createdAt, t.deleted AS deleted, t.deletedAt AS deletedAt
+        """;
 
+    // TweetVersion projeksiyonunun kolonları: yanıtta görünen her şeyin ucuz özeti.
+    // Yanıtlarda parent yazarının bilgisi de göründüğü için onun güncellenme zamanı da okunur.
+    // Görüntüleyenin beğeni/retweet durumu alt sorgularla aynı satırda okunur
+    String TWEET_VERSION_COLUMNS = """
+        t.id AS id, t.updatedAt AS updatedAt,
+        t.likeCount AS likeCount, t.retweetCount AS retweetCount, t.replyCount AS replyCount,
+        t.deleted AS deleted, p.deleted AS parentDeleted, u.updatedAt AS authorUpdatedAt,
+        pu.updatedAt AS parentAuthorUpdatedAt,
+        (SELECT COUNT(l) FROM TweetLike l WHERE l.tweet.id = t.id AND l.user.id = :viewerId) AS viewerLikes,
+        (SELECT MAX(r.id) FROM Tweet r WHERE r.parentTweet.id = t.id AND r.user.id = :viewerId
+            AND r.tweetType = com.twitter.twitter_rest_api.entity.TweetType.RETWEET) AS viewerRetweetId
+        """;
 
 
-    // Tweet içeriği ve kullanıcı adına göre arama
-    @Query("SELECT DISTINCT t FROM Tweet t LEFT JOIN FETCH t.user u WHERE " +
-            "LOWER(t.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Tweet> searchTweets(@Param("keyword") String keyword, Pageable pageable);
-
-    // Hashtag araması için metod
-    @Query("SELECT t FROM Tweet t WHERE " +
-            "t.content LIKE CONCAT('%#', :hashtag, '%')")
-    Page<Tweet> findByHashtag(@Param("hashtag") String hashtag, Pageable pageable);
-
     @Query("SELECT t FROM Tweet t WHERE t.deleted=false AND t.user.id = :userId ORDER BY t.createdAt DESC")
     Page<Tweet> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
@@ -41,6 +54,15 @@ public interface TweetRepository extends JpaRepository<Tweet,Long> {
             @Param("parentTweet") Tweet parentTweet,
             @Param("tweetType") TweetType tweetType
     );
+    // Toplu retweet kontrolü için (N+1 sorgu problemini önlemek için)
+    @Query("""
+        SELECT t.parentTweet.id AS parentTweetId, t.id AS retweetId FROM Tweet t
+        WHERE t.user.id = :userId
+        AND t.parentTweet.id IN :parentTweetIds
+        AND t.tweetType = com.twitter.twitter_rest_api.entity.TweetType.RETWEET
+        """)
+    List<RetweetRef> findRetweetRefsByUserIdAndParentTweetIdIn(@Param("userId") Long userId,
+                                                             @Param("parentTweetIds") Collection<Long> parentTweetIds);
     // Tweet'i tüm detaylarıyla getir
     @Query("""
         SELECT t FROM Tweet t
@@ -82,5 +104,275 @@ public interface TweetRepository extends JpaRepository<Tweet,Long> {
         ORDER BY t.createdAt DESC
         """)
     Page<Tweet> findByUserIdNonDeleted(@Param("userId") Long userId, Pageable pageable);
+
+    // Ana sayfa ve kullanıcı tweetleri için projeksiyonlar: entity ve persistence context'e girmeden okunur
+    @Query(value = "SELECT " + TWEET_STATS_COLUMNS + """
+        FROM Tweet t
+        WHERE t.deleted = false
+        ORDER BY t.createdAt DESC
+        """,
+            countQuery = "SELECT COUNT(t) FROM Tweet t WHERE t.deleted = false")
+    Page<TweetWithStats> findAllNonDeletedTweetStats(Pageable pageable);
+
+    @Query(value = "SELECT " + TWEET_STATS_COLUMNS + """
+        FROM Tweet t
+        WHERE t.user.id = :userId
+        AND t.deleted = false
+        ORDER BY t.createdAt DESC
+        """,
+            countQuery = "SELECT COUNT(t) FROM Tweet t WHERE t.user.id = :userId AND t.deleted = false")
+    Page<TweetWithStats> findStatsByUserIdNonDeleted(@Param("userId") Long userId, Pageable pageable);
+
+    // Retweetlerin orijinalleri ve yanıtların parent tweetleri için
+    @Query("SELECT " + TWEET_STATS_COLUMNS + " FROM Tweet t WHERE t.id IN :ids")
+    List<TweetWithStats> findStatsByIdIn(@Param("ids") Collection<Long> ids);
     List<Tweet> findByParentTweetAndTweetType(Tweet existingTweet, TweetType tweetType);
+
+    // Keyset sayfalama sorguları: OFFSET ve COUNT yerine (createdAt, id) cursor'ı kullanılır.
+    // İlk sayfa cursor'sız, sonraki sayfalar "Before" sorgularıyla okunur.
+    @Query("""
+        SELECT t FROM Tweet t
+        LEFT JOIN FETCH t.user u
+        WHERE t.deleted = false
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    Slice<Tweet> findNonDeletedTweetsSlice(Pageable pageable);
+
+    @Query("""
+        SELECT t FROM Tweet t
+        LEFT JOIN FETCH t.user u
+        WHERE t.deleted = false
+        AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    Slice<Tweet> findNonDeletedTweetsBefore(@Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query("""
+        SELECT t FROM Tweet t
+        LEFT JOIN FETCH t.user u
+        WHERE t.user.id = :userId
+        AND t.deleted = false
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    Slice<Tweet> findByUserIdNonDeletedSlice(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+        SELECT t FROM Tweet t
+        LEFT JOIN FETCH t.user u
+        WHERE t.user.id = :userId
+        AND t.deleted = false
+        AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    Slice<Tweet> findByUserIdNonDeletedBefore(@Param("userId") Long userId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    @Query("""
+        SELECT t FROM Tweet t
+        LEFT JOIN FETCH t.user u
+        WHERE t.parentTweet.id = :tweetId
+        AND t.tweetType = com.twitter.twitter_rest_api.entity.TweetType.REPLY
+        AND t.deleted = false
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    Slice<Tweet> findRepliesByTweetIdSlice(@Param("tweetId") Long tweetId, Pageable pageable);
+
+    @Query("""
+        SELECT t FROM Tweet t
+        LEFT JOIN FETCH t.user u
+        WHERE t.parentTweet.id = :tweetId
+        AND t.tweetType = com.twitter.twitter_rest_api.entity.TweetType.REPLY
+        AND t.deleted = false
+        AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    Slice<Tweet> findRepliesByTweetIdBefore(@Param("tweetId") Long tweetId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    // like_count kolonunu tweet_likes tablosundan yeniden hesapla (tek seferlik senkronizasyon için)
+    @Modifying
+    @Query("UPDATE Tweet t SET t.likeCount = (SELECT COUNT(l) FROM TweetLike l WHERE l.tweet = t)")
+    int resyncLikeCounts();
+
+    // Home timeline ısıtma: verilen kullanıcıların en yeni tweet id'leri (yanıtlar hariç)
+    @Query("""
+        SELECT t.id FROM Tweet t
+        WHERE t.user.id IN :userIds
+        AND t.deleted = false
+        AND t.tweetType <> com.twitter.twitter_rest_api.entity.TweetType.REPLY
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    List<Long> findTimelineTweetIds(@Param("userIds") Collection<Long> userIds, Pageable pageable);
+
+    // Id listesine göre tweetleri kullanıcılarıyla birlikte getir
+    @Query("""
+        SELECT t FROM Tweet t
+        LEFT JOIN FETCH t.user u
+        WHERE t.id IN :ids
+        """)
+    List<Tweet> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Konuşma zinciri: verilen tweet'ten köke kadar tüm ata id'leri tek sorguda, en eskiden başlayarak
+    @Query(value = """
+        WITH RECURSIVE ancestors(id, parent_tweet_id, depth) AS (
+            SELECT t.id, t.parent_tweet_id, 1
+            FROM twitterapi.tweets t
+            WHERE t.id = :tweetId
+            UNION ALL
+            SELECT p.id, p.parent_tweet_id, a.depth + 1
+            FROM twitterapi.tweets p
+            JOIN ancestors a ON p.id = a.parent_tweet_id
+            WHERE a.depth < :maxDepth
+        )
+        SELECT id FROM ancestors ORDER BY depth DESC
+        """, nativeQuery = true)
+    List<Long> findAncestorChainIds(@Param("tweetId") Long tweetId, @Param("maxDepth") int maxDepth);
+
+    // Yanıt ağacı: verilen tweetlerin her birine yapılan en eski :limit yanıtın id'leri
+    @Query(value = """
+        SELECT r.id FROM (
+            SELECT t.id,
+                   ROW_NUMBER() OVER (PARTITION BY t.in_reply_to_tweet_id ORDER BY t.created_at ASC, t.id ASC) AS rn
+            FROM twitterapi.tweets t
+            WHERE t.in_reply_to_tweet_id IN (:parentIds)
+            AND t.tweet_type = 'REPLY'
+            AND t.is_deleted = false
+        ) r
+        WHERE r.rn <= :limit
+        """, nativeQuery = true)
+    List<Long> findReplyIdsByParentIdIn(@Param("parentIds") Collection<Long> parentIds, @Param("limit") int limit);
+
+    // Beğeni hedefi: retweetlerde orijinal tweet, diğerlerinde kendisi. Entity yüklenmez
+    @Query("""
+        SELECT t.tweetType AS tweetType, target.id AS id, target.deleted AS deleted, target.likeCount AS likeCount
+        FROM Tweet t
+        JOIN Tweet target ON target.id = CASE
+            WHEN t.tweetType = com.twitter.twitter_rest_api.entity.TweetType.RETWEET THEN t.parentTweet.id
+            ELSE t.id
+        END
+        WHERE t.id = :tweetId
+        """)
+    Optional<LikeTarget> findLikeTarget(@Param("tweetId") Long tweetId);
+
+    // Yazar tamponlarını ısıtmak için her yazarın en yeni :limit tweeti (yanıtlar hariç)
+    @Query(value = """
+        SELECT r.user_id AS "userId", r.id AS "id", r.created_at AS "createdAt" FROM (
+            SELECT t.user_id, t.id, t.created_at,
+                   ROW_NUMBER() OVER (PARTITION BY t.user_id ORDER BY t.created_at DESC, t.id DESC) AS rn
+            FROM twitterapi.tweets t
+            WHERE t.user_id IN (:userIds)
+            AND t.is_deleted = false
+            AND t.tweet_type <> 'REPLY'
+        ) r
+        WHERE r.rn <= :limit
+        """, nativeQuery = true)
+    List<AuthorTweetRef> findRecentTweetRefsByUserIdIn(@Param("userIds") Collection<Long> userIds, @Param("limit") int limit);
+
+    // Yazar tamponlarının kapsamadığı eski sayfalar: verilen kullanıcıların tweetleri en yeniden eskiye (yanıtlar hariç)
+    @Query("""
+        SELECT new com.twitter.twitter_rest_api.dto.TweetCursor(t.createdAt, t.id)
+        FROM Tweet t
+        WHERE t.user.id IN :userIds
+        AND t.deleted = false
+        AND t.tweetType <> com.twitter.twitter_rest_api.entity.TweetType.REPLY
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    List<TweetCursor> findTimelineCursors(@Param("userIds") Collection<Long> userIds, Pageable pageable);
+
+    @Query("""
+        SELECT new com.twitter.twitter_rest_api.dto.TweetCursor(t.createdAt, t.id)
+        FROM Tweet t
+        WHERE t.user.id IN :userIds
+        AND t.deleted = false
+        AND t.tweetType <> com.twitter.twitter_rest_api.entity.TweetType.REPLY
+        AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    List<TweetCursor> findTimelineCursorsBefore(@Param("userIds") Collection<Long> userIds,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    // ETag hesabı için: findRepliesByTweetId ile aynı sayfa, entity ve kullanıcı yüklenmez
+    @Query(value = "SELECT " + TWEET_VERSION_COLUMNS + """
+        FROM Tweet t JOIN t.user u LEFT JOIN t.parentTweet p LEFT JOIN p.user pu
+        WHERE p.id = :tweetId
+        AND t.tweetType = com.twitter.twitter_rest_api.entity.TweetType.REPLY
+        AND t.deleted = false
+        ORDER BY t.createdAt DESC
+        """,
+            countQuery = """
+        SELECT COUNT(t) FROM Tweet t
+        WHERE t.parentTweet.id = :tweetId
+        AND t.tweetType = com.twitter.twitter_rest_api.entity.TweetType.REPLY
+        AND t.deleted = false
+        """)
+    Page<TweetVersion> findReplyVersionsByTweetId(@Param("tweetId") Long tweetId,
+                                                  @Param("viewerId") Long viewerId,
+                                                  Pageable pageable);
+
+    // ETag hesabı için: findRepliesByTweetIdSlice/Before ile aynı sayfalar
+    @Query("SELECT " + TWEET_VERSION_COLUMNS + """
+        FROM Tweet t JOIN t.user u LEFT JOIN t.parentTweet p LEFT JOIN p.user pu
+        WHERE p.id = :tweetId
+        AND t.tweetType = com.twitter.twitter_rest_api.entity.TweetType.REPLY
+        AND t.deleted = false
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    Slice<TweetVersion> findReplyVersionsByTweetIdSlice(@Param("tweetId") Long tweetId,
+                                                        @Param("viewerId") Long viewerId,
+                                                        Pageable pageable);
+
+    @Query("SELECT " + TWEET_VERSION_COLUMNS + """
+        FROM Tweet t JOIN t.user u LEFT JOIN t.parentTweet p LEFT JOIN p.user pu
+        WHERE p.id = :tweetId
+        AND t.tweetType = com.twitter.twitter_rest_api.entity.TweetType.REPLY
+        AND t.deleted = false
+        AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    Slice<TweetVersion> findReplyVersionsByTweetIdBefore(@Param("tweetId") Long tweetId,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         @Param("viewerId") Long viewerId,
+                                                         Pageable pageable);
+
+    interface AuthorTweetRef {
+        Long getUserId();
+        Long getId();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface LikeTarget {
+        TweetType getTweetType();
+        Long getId();
+        boolean isDeleted();
+        Integer getLikeCount();
+    }
+
+    // Retweet edilen tweet id -> kullanıcının retweet id'si
+    interface RetweetRef {
+        Long getParentTweetId();
+        Long getRetweetId();
+    }
+
+    interface TweetVersion {
+        Long getId();
+        LocalDateTime getUpdatedAt();
+        Integer getLikeCount();
+        Integer getRetweetCount();
+        Integer getReplyCount();
+        Boolean getDeleted();
+        Boolean getParentDeleted();
+        LocalDateTime getAuthorUpdatedAt();
+        LocalDateTime getParentAuthorUpdatedAt();
+        Long getViewerLikes();
+        Long getViewerRetweetId();
+    }
 }
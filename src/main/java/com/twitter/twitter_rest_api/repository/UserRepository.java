@@ -1,10 +1,12 @@
 package com.twitter.twitter_rest_api.repository;
 
+import com.twitter.twitter_rest_api.dto.UserSummary;
 import com.twitter.twitter_rest_api.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +22,25 @@ public interface UserRepository extends JpaRepository<User,Long> {
     List<User> searchUsers(@Param("query") String query);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+
+    // Sadece id gereken yerlerde kullanıcıyı rolleriyle birlikte yüklememek için
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    // Kayıt sırasında email ve kullanıcı adı çakışması tek sorguda kontrol edilir (en fazla iki satır)
+    @Query("SELECT u.email AS email, u.username AS username FROM User u WHERE u.email = :email OR u.username = :username")
+    List<IdentityRef> findIdentityConflicts(@Param("email") String email, @Param("username") String username);
+
+    interface IdentityRef {
+        String getEmail();
+        String getUsername();
+    }
+
+    // Tweet yanıtlarındaki yazar bilgileri için toplu okuma
+    @Query("""
+        SELECT new com.twitter.twitter_rest_api.dto.UserSummary(u.id, u.email, u.firstName, u.lastName, u.profileImage)
+        FROM User u
+        WHERE u.id IN :ids
+        """)
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,38 @@
+package com.twitter.twitter_rest_api.security;
+
+import com.twitter.twitter_rest_api.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+// SecurityContext'te tutulan değişmez kullanıcı bilgisi. Entity'den kopyalandığı için
+// istekler arasında paylaşılabilir; getUsername() User entity'sinde olduğu gibi email döner
+public record AuthenticatedUser(Long id,
+                                String email,
+                                List<GrantedAuthority> authorities) implements UserDetails {
+
+    public static AuthenticatedUser from(User user) {
+        List<GrantedAuthority> authorities = user.getAuthorities().stream()
+                .<GrantedAuthority>map(authority -> new SimpleGrantedAuthority(authority.getAuthority()))
+                .toList();
+        return new AuthenticatedUser(user.getId(), user.getEmail(), authorities);
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // Parola önbellekte tutulmaz, doğrulama sadece login sırasında yapılır
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
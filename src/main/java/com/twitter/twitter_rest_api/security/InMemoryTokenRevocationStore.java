@@ -0,0 +1,31 @@
+package com.twitter.twitter_rest_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Tek node için bellek içi depo. Caffeine kayıtları bitiş zamanına göre sıralı tutar
+// (timer wheel), süresi dolan jti'ler boyut sınırına gerek kalmadan kendiliğinden düşer
+@Component
+@ConditionalOnProperty(name = "app.jwt.revocation.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+    private final Cache<String, Instant> revoked = Caffeine.newBuilder()
+            .expireAfter(new InstantExpiry<String, Instant>(expiresAt -> expiresAt))
+            .build();
+
+    @Override
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return true;
+        }
+        return revoked.asMap().putIfAbsent(jti, expiresAt) == null;
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        return revoked.getIfPresent(jti) != null;
+    }
+}
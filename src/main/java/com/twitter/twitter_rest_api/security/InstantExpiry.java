@@ -0,0 +1,40 @@
+package com.twitter.twitter_rest_api.security;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+// Caffeine kaydını değerden okunan bitiş zamanında düşürür; okumak süreyi uzatmaz.
+// Bitiş zamanı yoksa ya da geçmişse kayıt hemen düşer
+final class InstantExpiry<K, V> implements Expiry<K, V> {
+    private final Function<V, Instant> expiresAt;
+
+    InstantExpiry(Function<V, Instant> expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        return remainingNanos(value);
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return remainingNanos(value);
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    private long remainingNanos(V value) {
+        Instant instant = expiresAt.apply(value);
+        if (instant == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(Instant.now(), instant).toNanos());
+    }
+}
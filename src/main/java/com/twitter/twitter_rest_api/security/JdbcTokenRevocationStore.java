@@ -0,0 +1,89 @@
+package com.twitter.twitter_rest_api.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+// Birden fazla node için: iptaller revoked_tokens tablosuna yazılır ve her node tabloyu
+// periyodik olarak bellekteki kopyasına çeker. Filtre sadece bellek kopyasına bakar, istek
+// yolunda veritabanı sorgusu yoktur; başka node'daki bir iptal en geç bir senkron aralığında görünür
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jwt.revocation.store", havingValue = "jdbc")
+public class JdbcTokenRevocationStore implements TokenRevocationStore {
+    private static final String INSERT_SQL = """
+            INSERT INTO twitterapi.revoked_tokens (jti, expires_at, revoked_at)
+            VALUES (?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String SYNC_SQL = """
+            SELECT jti, expires_at, revoked_at
+            FROM twitterapi.revoked_tokens
+            WHERE revoked_at >= ? AND expires_at > ?
+            """;
+    private static final String PURGE_SQL = "DELETE FROM twitterapi.revoked_tokens WHERE expires_at <= ?";
+    // Geç commit edilen ya da saati geride olan node'ların kayıtları kaçmasın diye
+    // her senkronda son görülen zamandan bu kadar geriye gidilir
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InMemoryTokenRevocationStore local = new InMemoryTokenRevocationStore();
+    private Instant lastSeenRevokedAt = Instant.EPOCH;
+
+    public JdbcTokenRevocationStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean revoke(String jti, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (!expiresAt.isAfter(now)) {
+            return true;
+        }
+        // Kayıt birincil anahtara takılırsa token başka bir istekte/node'da zaten iptal edilmiştir
+        int inserted = jdbcTemplate.update(INSERT_SQL, jti, Timestamp.from(expiresAt), Timestamp.from(now));
+        local.revoke(jti, expiresAt);
+        return inserted > 0;
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        return local.isRevoked(jti);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        Instant since = lastSeenRevokedAt.minus(SYNC_OVERLAP);
+        try {
+            jdbcTemplate.query(SYNC_SQL, rs -> {
+                Instant revokedAt = rs.getTimestamp("revoked_at").toInstant();
+                local.revoke(rs.getString("jti"), rs.getTimestamp("expires_at").toInstant());
+                if (revokedAt.isAfter(lastSeenRevokedAt)) {
+                    lastSeenRevokedAt = revokedAt;
+                }
+            }, Timestamp.from(since.isBefore(Instant.EPOCH) ? Instant.EPOCH : since), Timestamp.from(Instant.now()));
+        } catch (DataAccessException e) {
+            log.warn("İptal edilen tokenlar senkronize edilemedi: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        try {
+            int deleted = jdbcTemplate.update(PURGE_SQL, Timestamp.from(Instant.now()));
+            if (deleted > 0) {
+                log.debug("Süresi dolan {} iptal kaydı silindi", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Süresi dolan iptal kayıtları silinemedi: {}", e.getMessage());
+        }
+    }
+}
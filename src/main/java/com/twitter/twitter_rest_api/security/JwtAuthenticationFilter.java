@@ -1,7 +1,5 @@
 package com.twitter.twitter_rest_api.security;
 
-import com.twitter.twitter_rest_api.entity.User;
-import com.twitter.twitter_rest_api.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -11,7 +9,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,7 +21,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserService userService;
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationStore revocationStore;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -45,20 +45,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
             log.debug("JWT token from cookie: {}", jwt);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            // Token bir kere çözülür; aynı token tekrar geldiğinde imza kontrolü önbellekten atlanır.
+            // Logout ile iptal edilen token'lar jti ile bellekte aranır
+            VerifiedToken token = jwtUtils.verify(jwt)
+                    .filter(verified -> !revocationStore.isRevoked(verified.jti()))
+                    .orElse(null);
+            if (token != null) {
+                String username = token.subject();
                 log.debug("Username from JWT token: {}", username);
 
-                UserDetails user = (UserDetails) userService.loadUserByUsername(username);
+                // Stateless modda kullanıcı claim'lerden kurulur; aksi halde önbellekten gelir,
+                // önbellekte yoksa tek sorguyla yüklenir
+                AuthenticatedUser user = jwtUtils.isStatelessPrincipal()
+                        ? jwtUtils.toPrincipal(token)
+                                .orElseGet(() -> principalCache.find(username).orElse(null))
+                        : principalCache.find(username).orElse(null);
+                if (user != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-
-                log.debug("Kullanıcı kimlik doğrulaması başarılı: {}", username);
+                    log.debug("Kullanıcı kimlik doğrulaması başarılı: {}", username);
+                } else {
+                    log.debug("Token sahibi kullanıcı bulunamadı: {}", username);
+                }
             } else {
                 log.debug("JWT token geçersiz veya bulunamadı");
             }
@@ -1,19 +1,33 @@
 package com.twitter.twitter_rest_api.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.twitter.twitter_rest_api.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
@@ -27,8 +41,31 @@ public class JwtUtils {
     @Value("${app.jwt.refresh-token.expiration}")
     private int refreshTokenExpirationMs;
 
-    private Key getSigningKey(){
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Açıksa access token kullanıcı id'si ve rolleri de taşır, filtre kullanıcıyı veritabanına
+    // ya da önbelleğe gitmeden claim'lerden kurar. Rol değişiklikleri token süresi dolunca yansır
+    @Value("${app.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    // Anahtar ve parser thread-safe olduğu için bir kere kurulur
+    private Key signingKey;
+    private JwtParser parser;
+    // Aynı access token her istekte geldiği için imza kontrolü token süresi dolana kadar tekrar yapılmaz
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                // Önbellekteki kayıt token'ın kendi süresi dolduğunda düşer
+                .expireAfter(new InstantExpiry<String, VerifiedToken>(VerifiedToken::expiresAt))
+                .build();
     }
 
     public String generateAccessToken(UserDetails userDetails) {
@@ -41,48 +78,111 @@ public class JwtUtils {
 
     public String generateToken(UserDetails userDetails,int expirationMs,SignatureAlgorithm algorithm){
         Map<String,Object> claims=new HashMap<>();
-        claims.put("type",algorithm==SignatureAlgorithm.HS256?"ACCESS":"REFRESH");
+        claims.put("type",algorithm==SignatureAlgorithm.HS256?VerifiedToken.ACCESS:VerifiedToken.REFRESH);
+        if (statelessPrincipal && algorithm == SignatureAlgorithm.HS256) {
+            Long userId = userIdOf(userDetails);
+            if (userId != null) {
+                claims.put("uid", userId);
+                claims.put("roles", userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList());
+            }
+        }
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + expirationMs))
-                .signWith(getSigningKey(), algorithm)
+                .signWith(signingKey, algorithm)
                 .compact();
     }
 
+    private Long userIdOf(UserDetails userDetails) {
+        if (userDetails instanceof User user) {
+            return user.getId();
+        }
+        if (userDetails instanceof AuthenticatedUser principal) {
+            return principal.id();
+        }
+        return null;
+    }
+
+    public boolean isStatelessPrincipal() {
+        return statelessPrincipal;
+    }
+
+    // Token tek seferde çözülür; imza ya da süre geçersizse boş döner
+    public Optional<VerifiedToken> verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return Optional.of(cached);
+        }
+        try {
+            VerifiedToken verified = toVerifiedToken(token, parser.parseClaimsJws(token).getBody());
+            // Refresh token'lar tek kullanımlık olduğu için önbelleğe alınmaz
+            if (verified.isAccessToken()) {
+                verifiedTokens.put(token, verified);
+            }
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private VerifiedToken toVerifiedToken(String token, Claims claims) {
+        Number userId = claims.get("uid", Number.class);
+        List<?> roles = claims.get("roles", List.class);
+        // jti eklenmeden önce üretilmiş token'lar da iptal edilebilsin diye token'ın özeti kullanılır
+        String jti = claims.getId() != null ? claims.getId() : digest(token);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("type", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                jti,
+                userId != null ? userId.longValue() : null,
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList()
+        );
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Claim'lerde uid yoksa (mod kapalıyken üretilmiş token) boş döner, çağıran önbelleğe düşer
+    public Optional<AuthenticatedUser> toPrincipal(VerifiedToken token) {
+        if (token.userId() == null || !token.isAccessToken()) {
+            return Optional.empty();
+        }
+        List<GrantedAuthority> authorities = token.roles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return Optional.of(new AuthenticatedUser(token.userId(), token.subject(), authorities));
+    }
+
     public boolean isRefreshToken(String token){
-        Claims claims=extractClaims(token);
-        return "REFRESH".equals(claims.get("type"));
+        return verify(token).map(VerifiedToken::isRefreshToken).orElse(false);
     }
     public Claims extractClaims(String token){
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String getUserNameFromJwtToken(String token){
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verify(token)
+                .map(VerifiedToken::subject)
+                .orElseThrow(() -> new MalformedJwtException("Geçersiz token"));
     }
 
     public boolean validateJwtToken(String authToken){
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
-        }catch (SecurityException | MalformedJwtException | ExpiredJwtException |
-                UnsupportedJwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verify(authToken).isPresent();
     }
 
     public String parseJwt(HttpServletRequest request){
@@ -0,0 +1,66 @@
+package com.twitter.twitter_rest_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.twitter.twitter_rest_api.exceptions.ApiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Login denemeleri hesap ve IP başına sabit pencerede sayılır. Limit aşılınca istek
+// BCrypt'e ve veritabanına ulaşmadan reddedilir. Sayaç ilk denemeyle oluşur ve pencere
+// sonunda düşer (expireAfterWrite, sayaç yerinde artırıldığı için süre uzamaz)
+@Component
+public class LoginAttemptLimiter {
+    private final int maxAttemptsPerAccount;
+    private final int maxAttemptsPerIp;
+    private final Cache<String, AtomicInteger> accountAttempts;
+    private final Cache<String, AtomicInteger> ipAttempts;
+
+    public LoginAttemptLimiter(@Value("${app.auth.login.max-attempts-per-account:5}") int maxAttemptsPerAccount,
+                               @Value("${app.auth.login.max-attempts-per-ip:20}") int maxAttemptsPerIp,
+                               @Value("${app.auth.login.attempt-window-seconds:60}") long windowSeconds,
+                               @Value("${app.auth.login.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.maxAttemptsPerAccount = maxAttemptsPerAccount;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.accountAttempts = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .build();
+        this.ipAttempts = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .build();
+    }
+
+    // Denemeyi sayar, limit aşıldıysa 429 fırlatır
+    public void acquire(String email, String clientIp) {
+        if (clientIp != null && increment(ipAttempts, clientIp) > maxAttemptsPerIp) {
+            throw new ApiException("Çok fazla giriş denemesi, lütfen daha sonra tekrar deneyin",
+                    HttpStatus.TOO_MANY_REQUESTS);
+        }
+        if (email != null && increment(accountAttempts, normalize(email)) > maxAttemptsPerAccount) {
+            throw new ApiException("Bu hesap için çok fazla giriş denemesi, lütfen daha sonra tekrar deneyin",
+                    HttpStatus.TOO_MANY_REQUESTS);
+        }
+    }
+
+    // Başarılı girişten sonra hesabın sayacı sıfırlanır; IP sayacı pencere sonuna kadar kalır
+    public void reset(String email) {
+        if (email != null) {
+            accountAttempts.invalidate(normalize(email));
+        }
+    }
+
+    private static int increment(Cache<String, AtomicInteger> attempts, String key) {
+        return attempts.get(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
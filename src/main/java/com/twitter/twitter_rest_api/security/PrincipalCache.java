@@ -0,0 +1,76 @@
+package com.twitter.twitter_rest_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.twitter.twitter_rest_api.event.UserChangedEvent;
+import com.twitter.twitter_rest_api.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// JWT filtresi her istekte kullanıcıyı rolleriyle birlikte yüklemesin diye doğrulanmış
+// kullanıcılar email ile bellekte tutulur. Profil/rol değişikliğinde kayıt hemen silinir,
+// kaçırılan bir değişiklik de en geç TTL sonunda düzelir
+@Slf4j
+@Component
+public class PrincipalCache {
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> principalsByEmail;
+    // Sadece id bilinen yerlerden geçersiz kılmak için
+    private final Cache<Long, String> emailsById;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${app.security.principal-cache.max-size:50000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.principalsByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.emailsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // Önbellekte yoksa veritabanından yüklenir; bulunamayan kullanıcı önbelleğe alınmaz
+    public Optional<AuthenticatedUser> find(String email) {
+        AuthenticatedUser principal = principalsByEmail.get(email, key ->
+                userRepository.findByEmail(key).map(AuthenticatedUser::from).orElse(null));
+        if (principal != null) {
+            emailsById.put(principal.id(), principal.email());
+        }
+        return Optional.ofNullable(principal);
+    }
+
+    public void invalidate(String email) {
+        principalsByEmail.invalidate(email);
+    }
+
+    public void invalidate(Long userId) {
+        String email = emailsById.getIfPresent(userId);
+        emailsById.invalidate(userId);
+        if (email != null) {
+            principalsByEmail.invalidate(email);
+        }
+    }
+
+    public void invalidateAll() {
+        principalsByEmail.invalidateAll();
+        emailsById.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Kullanıcı önbellekten çıkarılıyor: {}", event.userId());
+        invalidate(event.userId());
+        if (event.email() != null) {
+            invalidate(event.email());
+        }
+    }
+}
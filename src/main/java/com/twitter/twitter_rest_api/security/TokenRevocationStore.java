@@ -0,0 +1,12 @@
+package com.twitter.twitter_rest_api.security;
+
+import java.time.Instant;
+
+// Logout ve refresh sonrası kullanılamayacak token'lar jti ile tutulur. Kayıt token'ın
+// kendi süresi dolunca silinir, süresi dolmuş token zaten imza kontrolünden geçemez
+public interface TokenRevocationStore {
+    // Token daha önce iptal edilmediyse iptal eder ve true döner; refresh rotasyonunda
+    // aynı token'ın iki kez kullanılmasını engellemek için sonuç kontrol edilir
+    boolean revoke(String jti, Instant expiresAt);
+    boolean isRevoked(String jti);
+}
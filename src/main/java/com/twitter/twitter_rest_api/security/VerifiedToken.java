@@ -0,0 +1,29 @@
+package com.twitter.twitter_rest_api.security;
+
+import java.time.Instant;
+import java.util.List;
+
+// İmzası ve süresi doğrulanmış token'ın tek seferde çözülmüş claim'leri.
+// userId ve roles sadece stateless modda üretilen access token'larda dolu gelir
+public record VerifiedToken(String subject,
+                            String type,
+                            Instant expiresAt,
+                            String jti,
+                            Long userId,
+                            List<String> roles) {
+
+    public static final String ACCESS = "ACCESS";
+    public static final String REFRESH = "REFRESH";
+
+    public boolean isAccessToken() {
+        return ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH.equals(type);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
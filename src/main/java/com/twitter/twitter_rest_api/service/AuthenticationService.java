@@ -5,20 +5,23 @@ import com.twitter.twitter_rest_api.dto.RoleRequest;
 import com.twitter.twitter_rest_api.dto.UserResponse;
 import com.twitter.twitter_rest_api.entity.Role;
 import com.twitter.twitter_rest_api.entity.User;
+import com.twitter.twitter_rest_api.event.UserRegisteredEvent;
 import com.twitter.twitter_rest_api.exceptions.ApiException;
-import com.twitter.twitter_rest_api.repository.RoleRepository;
 import com.twitter.twitter_rest_api.repository.UserRepository;
 import com.twitter.twitter_rest_api.security.JwtUtils;
+import com.twitter.twitter_rest_api.security.LoginAttemptLimiter;
 import com.twitter.twitter_rest_api.validations.UserValidations;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -26,46 +29,75 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @Service
 public class AuthenticationService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
     private final RefreshTokenService refreshTokenService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final Executor passwordHashingExecutor;
+    private final ApplicationEventPublisher eventPublisher;
     @Autowired
     public AuthenticationService(AuthenticationManager authenticationManager,
                                  UserRepository userRepository,
-                                 RoleRepository roleRepository,
+                                 RoleCache roleCache,
                                  PasswordEncoder passwordEncoder,
                                  JwtUtils jwtUtils,
-                                 RefreshTokenService refreshTokenService) {
+                                 RefreshTokenService refreshTokenService,
+                                 LoginAttemptLimiter loginAttemptLimiter,
+                                 LastLoginRecorder lastLoginRecorder,
+                                 @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor,
+                                 ApplicationEventPublisher eventPublisher) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleCache = roleCache;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtils = jwtUtils;
         this.refreshTokenService = refreshTokenService;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+        this.lastLoginRecorder = lastLoginRecorder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.eventPublisher = eventPublisher;
     }
 
 
-    public AuthResponse login(String email,String password){
-        Authentication authentication=authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(email,password)
-        );
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        UserDetails userDetails=(UserDetails) authentication.getPrincipal();
-
-        String jwt=jwtUtils.generateAccessToken(userDetails);
-        String refreshJwt=jwtUtils.generateRefreshToken(userDetails);
-        User user=userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
-        return new AuthResponse(jwt,refreshJwt,convertToUserResponse(user));
+    // Limit kontrolü istek thread'inde, kimlik doğrulama (kullanıcı sorgusu + BCrypt) ayrı havuzda yapılır
+    public CompletableFuture<AuthResponse> login(String email,String password,String clientIp){
+        loginAttemptLimiter.acquire(email, clientIp);
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(email, password), passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Login kuyruğu dolu, istek reddedildi: {}", email);
+            throw new ApiException("Sunucu yoğun, lütfen tekrar deneyin", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private AuthResponse authenticate(String email,String password){
+        Authentication authentication;
+        try {
+            authentication=authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(email,password)
+            );
+        } catch (AuthenticationException e) {
+            throw new ApiException("Invalid credentials", HttpStatus.UNAUTHORIZED);
+        }
+        loginAttemptLimiter.reset(email);
+        // Doğrulamada yüklenen kullanıcı kullanılır, ikinci sorgu ve save yapılmaz
+        User user=(User) authentication.getPrincipal();
+        lastLoginRecorder.record(user.getId(), LocalDateTime.now());
+
+        String jwt=jwtUtils.generateAccessToken(user);
+        String refreshJwt=jwtUtils.generateRefreshToken(user);
+        return new AuthResponse(jwt,refreshJwt,UserResponse.from(user));
     }
 
 
@@ -74,10 +106,8 @@ public class AuthenticationService {
                          String password, Role requestRole
                          ){
 
-        //validations paketi altında veritabanında email varlığı kontrol edilmesi için yazılan metod
-        UserValidations.emailExistCheck(userRepository,email);
-
-        initializeRoles();
+        //validations paketi altında veritabanında email ve kullanıcı adı varlığı kontrol edilmesi için yazılan metod
+        UserValidations.identityExistCheck(userRepository,email,username);
 
 
         log.info("Registering new user with email: {}",email);
@@ -86,9 +116,9 @@ public class AuthenticationService {
 
         Set<Role> roles=new HashSet<>();
         if (requestRole == null) {
-            roles.add(getRoleByName("USER"));
+            roles.add(roleCache.get("USER"));
         } else {
-            roles.add(getRoleByName(requestRole.getAuthority()));
+            roles.add(roleCache.get(requestRole.getAuthority()));
         }
         User user=new User();
         user.setFirstName(firstName);
@@ -102,7 +132,14 @@ public class AuthenticationService {
         user.setAuthorities(roles);
 
         log.info("Saving user to database...");
-        return userRepository.save(user);
+        try {
+            User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserRegisteredEvent(savedUser.getId()));
+            return savedUser;
+        } catch (DataIntegrityViolationException e) {
+            // Ön kontrolden sonra aynı email/kullanıcı adıyla eşzamanlı kayıt yapılmış
+            throw new ApiException("User already exists", HttpStatus.CONFLICT);
+        }
 
 
     }
@@ -117,43 +154,4 @@ public class AuthenticationService {
         SecurityContextHolder.clearContext();
     }
 
-    private void initializeRoles() {
-        createRoleIfNotExists("USER");
-        createRoleIfNotExists("ADMIN");
-    }
-
-    private void createRoleIfNotExists(String roleName) {
-        if (roleRepository.findByAuthority(roleName).isEmpty()) {
-            Role role = new Role();
-            role.setAuthority(roleName);
-            roleRepository.save(role);
-            log.info("Created role: {}", roleName);
-        }
-    }
-    private Role getRoleByName(String roleName) {
-        return roleRepository.findByAuthority(roleName)
-                .orElseThrow(() -> new ApiException(
-                        "Role not found: " + roleName,
-                        HttpStatus.INTERNAL_SERVER_ERROR
-                ));
-    }
-
-    private UserResponse convertToUserResponse(User user) {
-        return new UserResponse(
-                user.getId(),
-                user.getFullName(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getBio(),
-                user.getProfileImage(),
-                user.getHeaderImage(),
-                user.getFollowersCount(),
-                user.getFollowingCount(),
-                user.getTweetsCount(),
-                user.getVerified(),
-                user.getPrivateAccount(),
-                user.getCreatedAt()
-        );
-    }
-
 }
@@ -0,0 +1,12 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.dto.TweetCursor;
+
+import java.util.List;
+
+public interface AuthorTimelineIndex {
+    // Kullanıcının takip ettiği yazarların (ve kendisinin) en yeni tweetleri, en yeni önce.
+    // before null ise en baştan başlar. Her yazar için bellekte sadece son tweetler tutulur,
+    // tamponların kapsamadığı eski sayfalar veritabanından okunur
+    List<TweetCursor> followingTimeline(Long viewerId, TweetCursor before, int limit);
+}
@@ -0,0 +1,366 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.twitter.twitter_rest_api.dto.TweetCursor;
+import com.twitter.twitter_rest_api.entity.TweetType;
+import com.twitter.twitter_rest_api.event.FollowChangedEvent;
+import com.twitter.twitter_rest_api.event.TweetCreatedEvent;
+import com.twitter.twitter_rest_api.event.TweetDeletedEvent;
+import com.twitter.twitter_rest_api.repository.FollowRepository;
+import com.twitter.twitter_rest_api.repository.TweetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Pull tabanlı timeline. Her yazar için son tweetlerin (zaman, id) çiftleri sabit boyutlu
+// bir halka tamponda tutulur; tweet oluşturma/silme olaylarıyla güncellenir. Timeline okunurken
+// takip edilen yazarların tamponları k-yollu heap birleştirme ile sıralanır, veritabanına
+// sadece bellekte olmayan yazarlar ve takip listeleri için bir kere gidilir.
+// Dolu (eski tweetleri düşmüş) bir tamponun en eski elemanından geriye bellek eksik kalır;
+// birleştirme bu sınırda durur, sayfanın kalanı veritabanından keyset sorgusuyla okunur.
+@Slf4j
+@Service
+public class AuthorTimelineIndexImpl implements AuthorTimelineIndex {
+    private static final Set<TweetType> TIMELINE_TYPES =
+            EnumSet.of(TweetType.TWEET, TweetType.RETWEET, TweetType.QUOTE);
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final TweetRepository tweetRepository;
+    private final FollowRepository followRepository;
+    private final int bufferSize;
+    private final Cache<Long, AuthorBuffer> buffers;
+    private final Cache<Long, long[]> followingIds;
+    // Tamponu yüklenmekte olan yazarlara gelen olaylar; sorgu bu olayları görmemiş olabilir,
+    // tampon cache'e girdikten sonra tekrar uygulanır
+    private final Map<Long, PendingLoad> loading = new ConcurrentHashMap<>();
+
+    public AuthorTimelineIndexImpl(TweetRepository tweetRepository,
+                                   FollowRepository followRepository,
+                                   @Value("${app.timeline.author-buffer-size:200}") int bufferSize,
+                                   @Value("${app.timeline.max-cached-authors:100000}") long maxCachedAuthors,
+                                   @Value("${app.timeline.expire-after-access-minutes:60}") long expireAfterAccessMinutes) {
+        this.tweetRepository = tweetRepository;
+        this.followRepository = followRepository;
+        this.bufferSize = bufferSize;
+        this.buffers = Caffeine.newBuilder()
+                .maximumSize(maxCachedAuthors)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .build();
+        this.followingIds = Caffeine.newBuilder()
+                .maximumSize(maxCachedAuthors)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .build();
+    }
+
+    @Override
+    public List<TweetCursor> followingTimeline(Long viewerId, TweetCursor before, int limit) {
+        long[] authorIds = followingIds.get(viewerId, this::loadFollowingIds);
+        List<Long> keys = new ArrayList<>(authorIds.length);
+        for (long authorId : authorIds) {
+            keys.add(authorId);
+        }
+        Set<Long> loadedIds = new HashSet<>();
+        Map<Long, AuthorBuffer> authorBuffers;
+        try {
+            authorBuffers = buffers.getAll(keys, missing -> {
+                for (Long authorId : missing) {
+                    startLoad(authorId);
+                    loadedIds.add(authorId);
+                }
+                return loadBuffers(missing);
+            });
+        } finally {
+            loadedIds.forEach(this::finishLoad);
+        }
+
+        long beforeTime = before != null ? toMicros(before.createdAt()) : Long.MAX_VALUE;
+        long beforeId = before != null ? before.id() : Long.MAX_VALUE;
+
+        // Her tampon en yeniden eskiye sıralı; heap her tamponun sıradaki elemanını tutar.
+        // Sınır: eksik tamponların en eski elemanlarının en yenisi; bundan eskisi bellekte tam değildir
+        PriorityQueue<Head> heap = new PriorityQueue<>();
+        boolean bounded = false;
+        long horizonTime = Long.MIN_VALUE;
+        long horizonId = Long.MIN_VALUE;
+        for (AuthorBuffer buffer : authorBuffers.values()) {
+            Snapshot snapshot = buffer.snapshot();
+            if (snapshot.truncated()) {
+                bounded = true;
+                long oldestTime = snapshot.size() > 0 ? snapshot.times()[snapshot.size() - 1] : Long.MAX_VALUE;
+                long oldestId = snapshot.size() > 0 ? snapshot.ids()[snapshot.size() - 1] : Long.MAX_VALUE;
+                if (isBefore(horizonTime, horizonId, oldestTime, oldestId)) {
+                    horizonTime = oldestTime;
+                    horizonId = oldestId;
+                }
+            }
+            int position = snapshot.firstBefore(beforeTime, beforeId);
+            if (position < snapshot.size()) {
+                heap.add(new Head(snapshot, position));
+            }
+        }
+
+        List<TweetCursor> result = new ArrayList<>(limit);
+        while (result.size() < limit && !heap.isEmpty()) {
+            Head head = heap.poll();
+            if (isBefore(head.time(), head.id(), horizonTime, horizonId)) {
+                break;
+            }
+            result.add(new TweetCursor(fromMicros(head.time()), head.id()));
+            if (head.position() + 1 < head.snapshot().size()) {
+                heap.add(new Head(head.snapshot(), head.position() + 1));
+            }
+        }
+        if (bounded && result.size() < limit) {
+            result.addAll(loadOlder(keys, result.isEmpty() ? before : result.get(result.size() - 1),
+                    limit - result.size()));
+        }
+        return result;
+    }
+
+    // Sınırdan eskisi: sınıra kadar her şey bellekten döndüğü için son dönen elemandan devam edilir
+    private List<TweetCursor> loadOlder(List<Long> authorIds, TweetCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<TweetCursor> older = after == null
+                ? tweetRepository.findTimelineCursors(authorIds, page)
+                : tweetRepository.findTimelineCursorsBefore(authorIds, after.createdAt(), after.id(), page);
+        // Tampondaki zamanlarla aynı hassasiyette dönsün, sonraki cursor karşılaştırmaları tutarlı kalır
+        List<TweetCursor> result = new ArrayList<>(older.size());
+        for (TweetCursor cursor : older) {
+            result.add(new TweetCursor(fromMicros(toMicros(cursor.createdAt())), cursor.id()));
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetCreated(TweetCreatedEvent event) {
+        if (!TIMELINE_TYPES.contains(event.tweetType())) {
+            return;
+        }
+        // Bellekte olmayan yazarın tamponu ilk okumada veritabanından dolar
+        long time = toMicros(event.createdAt());
+        apply(event.authorId(), buffer -> buffer.add(time, event.tweetId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetDeleted(TweetDeletedEvent event) {
+        apply(event.authorId(), buffer -> buffer.remove(event.tweetId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        followingIds.invalidate(event.followerId());
+    }
+
+    // İşlemler tekrar uygulanabilir (ekleme tekrarı eler, silme yoksa bir şey yapmaz);
+    // yükleme sürerken hem kuyruğa yazılır hem varsa eski tampona uygulanır
+    private void apply(Long authorId, Consumer<AuthorBuffer> op) {
+        loading.computeIfPresent(authorId, (id, pending) -> {
+            pending.ops.add(op);
+            return pending;
+        });
+        AuthorBuffer buffer = buffers.getIfPresent(authorId);
+        if (buffer != null) {
+            op.accept(buffer);
+        }
+    }
+
+    private void startLoad(Long authorId) {
+        loading.compute(authorId, (id, pending) -> {
+            PendingLoad load = pending != null ? pending : new PendingLoad();
+            load.loaders++;
+            return load;
+        });
+    }
+
+    // Yükleme bitince kuyruktaki işlemler yerleşen tampona uygulanır; aynı yazarı yükleyen
+    // son çağrı bitene kadar kuyruk tutulur
+    private void finishLoad(Long authorId) {
+        loading.computeIfPresent(authorId, (id, pending) -> {
+            AuthorBuffer buffer = buffers.getIfPresent(id);
+            if (buffer != null) {
+                pending.ops.forEach(op -> op.accept(buffer));
+            }
+            return --pending.loaders > 0 ? pending : null;
+        });
+    }
+
+    private long[] loadFollowingIds(Long userId) {
+        List<Long> ids = followRepository.findFollowingIdsByUserId(userId);
+        long[] authorIds = new long[ids.size() + 1];
+        for (int i = 0; i < ids.size(); i++) {
+            authorIds[i] = ids.get(i);
+        }
+        authorIds[ids.size()] = userId;
+        return authorIds;
+    }
+
+    // Eksik yazarların son tweetleri tek sorguda, tweeti olmayan yazarlar için boş tampon
+    private Map<Long, AuthorBuffer> loadBuffers(Set<? extends Long> authorIds) {
+        Map<Long, AuthorBuffer> loaded = new HashMap<>();
+        for (Long authorId : authorIds) {
+            loaded.put(authorId, new AuthorBuffer(bufferSize));
+        }
+        List<TweetRepository.AuthorTweetRef> refs = tweetRepository.findRecentTweetRefsByUserIdIn(
+                new ArrayList<>(authorIds), bufferSize);
+        Map<Long, Integer> counts = new HashMap<>();
+        for (TweetRepository.AuthorTweetRef ref : refs) {
+            loaded.get(ref.getUserId()).add(toMicros(ref.getCreatedAt()), ref.getId());
+            counts.merge(ref.getUserId(), 1, Integer::sum);
+        }
+        // Sınıra kadar dolan yazarın veritabanında daha eski tweetleri olabilir
+        counts.forEach((authorId, count) -> {
+            if (count >= bufferSize) {
+                loaded.get(authorId).markTruncated();
+            }
+        });
+        log.debug("Author buffers loaded for {} authors with {} tweets", authorIds.size(), refs.size());
+        return loaded;
+    }
+
+    // Zamanlar veritabanı hassasiyetinde (mikrosaniye) tutulur
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static final class PendingLoad {
+        private int loaders;
+        private final List<Consumer<AuthorBuffer>> ops = new ArrayList<>();
+    }
+
+    private record Head(Snapshot snapshot, int position) implements Comparable<Head> {
+        long time() {
+            return snapshot.times()[position];
+        }
+
+        long id() {
+            return snapshot.ids()[position];
+        }
+
+        @Override
+        public int compareTo(Head other) {
+            int byTime = Long.compare(other.time(), time());
+            return byTime != 0 ? byTime : Long.compare(other.id(), id());
+        }
+    }
+
+    private static boolean isBefore(long time, long id, long otherTime, long otherId) {
+        return time < otherTime || (time == otherTime && id < otherId);
+    }
+
+    // En yeniden eskiye sıralı kopya; truncated ise en eski elemandan daha eski tweetler tamponda yoktur
+    private record Snapshot(long[] times, long[] ids, boolean truncated) {
+        int size() {
+            return ids.length;
+        }
+
+        // (time, id) çiftinden kesinlikle eski olan ilk elemanın konumu
+        int firstBefore(long time, long id) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[mid] > time || (times[mid] == time && ids[mid] >= id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    // Sabit kapasiteli halka tampon, eskiden yeniye sıralı; kapasite dolunca en eski tweet düşer
+    private static final class AuthorBuffer {
+        private final long[] times;
+        private final long[] ids;
+        private int start;
+        private int size;
+        // Kapasite yüzünden düşen ya da hiç alınmayan eski tweet var
+        private boolean truncated;
+
+        AuthorBuffer(int capacity) {
+            this.times = new long[capacity];
+            this.ids = new long[capacity];
+        }
+
+        synchronized void add(long time, long id) {
+            for (int i = size - 1; i >= 0 && i >= size - 16; i--) {
+                if (ids[index(i)] == id) {
+                    return;
+                }
+            }
+            if (size == ids.length) {
+                truncated = true;
+                if (isBefore(time, id, times[start], ids[start])) {
+                    return;
+                }
+                start = (start + 1) % ids.length;
+                size--;
+            }
+            // Commit sırası oluşturma sırasından farklı olabilir, sıra korunarak yerleştirilir
+            int position = size;
+            while (position > 0 && isBefore(time, id, times[index(position - 1)], ids[index(position - 1)])) {
+                times[index(position)] = times[index(position - 1)];
+                ids[index(position)] = ids[index(position - 1)];
+                position--;
+            }
+            times[index(position)] = time;
+            ids[index(position)] = id;
+            size++;
+        }
+
+        synchronized void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[index(i)] == id) {
+                    for (int j = i; j < size - 1; j++) {
+                        times[index(j)] = times[index(j + 1)];
+                        ids[index(j)] = ids[index(j + 1)];
+                    }
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        synchronized void markTruncated() {
+            truncated = true;
+        }
+
+        synchronized Snapshot snapshot() {
+            long[] snapshotTimes = new long[size];
+            long[] snapshotIds = new long[size];
+            for (int i = 0; i < size; i++) {
+                snapshotTimes[i] = times[index(size - 1 - i)];
+                snapshotIds[i] = ids[index(size - 1 - i)];
+            }
+            return new Snapshot(snapshotTimes, snapshotIds, truncated);
+        }
+
+        private int index(int position) {
+            return (start + position) % ids.length;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.entity.Tweet;
+
+import java.util.List;
+
+public interface ConversationThreadLoader {
+    // Tweet'in tüm ata tweetlerini kullanıcılarıyla birlikte getir, en eski tweet'ten başlayarak
+    List<Tweet> loadAncestors(Tweet tweet);
+    // Tweet'in ata id'leri ve en sonda kendi id'si, en eskiden başlayarak. Tweet yoksa boş liste
+    List<Long> loadChainIds(Long tweetId);
+}
@@ -0,0 +1,124 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.twitter.twitter_rest_api.entity.Tweet;
+import com.twitter.twitter_rest_api.repository.TweetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Ata zinciri tek bir recursive sorguyla okunur, tweetler tek IN sorgusuyla yüklenir.
+// parent_tweet_id hiç değişmediği için bir tweet'in ata id zinciri de değişmez; zincirler
+// bellekte tutulur. Aynı zincirdeki tüm tweetler tek bir dizinin farklı uzunluktaki
+// öneklerini paylaşır, böylece derin konuşmalar için bellek zincir uzunluğu kadar harcanır.
+@Service
+public class ConversationThreadLoaderImpl implements ConversationThreadLoader {
+    private final TweetRepository tweetRepository;
+    private final int maxDepth;
+    private final Cache<Long, ThreadPrefix> prefixes;
+
+    public ConversationThreadLoaderImpl(TweetRepository tweetRepository,
+                                        @Value("${app.thread.max-depth:500}") int maxDepth,
+                                        @Value("${app.thread.prefix-cache-size:100000}") long prefixCacheSize) {
+        this.tweetRepository = tweetRepository;
+        this.maxDepth = maxDepth;
+        this.prefixes = Caffeine.newBuilder()
+                .maximumSize(prefixCacheSize)
+                .build();
+    }
+
+    @Override
+    public List<Tweet> loadAncestors(Tweet tweet) {
+        if (tweet.getParentTweet() == null) {
+            return List.of();
+        }
+        long[] ancestorIds = ancestorIds(tweet);
+        if (ancestorIds.length == 0) {
+            return List.of();
+        }
+
+        List<Long> ids = Arrays.stream(ancestorIds).boxed().toList();
+        Map<Long, Tweet> tweetsById = tweetRepository.findAllWithUserByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Tweet::getId, Function.identity()));
+
+        List<Tweet> thread = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Tweet ancestor = tweetsById.get(id);
+            if (ancestor != null) {
+                thread.add(ancestor);
+            }
+        }
+        return thread;
+    }
+
+    @Override
+    public List<Long> loadChainIds(Long tweetId) {
+        long[] ids;
+        ThreadPrefix cached = prefixes.getIfPresent(tweetId);
+        if (cached != null) {
+            ids = Arrays.copyOf(cached.ids(), cached.length() + 1);
+            ids[cached.length()] = tweetId;
+        } else {
+            List<Long> chain = tweetRepository.findAncestorChainIds(tweetId, maxDepth + 1);
+            if (chain.isEmpty()) {
+                return List.of();
+            }
+            ids = chain.stream().mapToLong(Long::longValue).toArray();
+            if (chain.size() <= maxDepth) {
+                cache(tweetId, Arrays.copyOf(ids, ids.length - 1));
+            }
+        }
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private long[] ancestorIds(Tweet tweet) {
+        if (tweet.getId() != null) {
+            ThreadPrefix cached = prefixes.getIfPresent(tweet.getId());
+            if (cached != null) {
+                return cached.toArray();
+            }
+        }
+
+        // Proxy'den id okumak parent tweet'i yüklemez
+        Long parentId = tweet.getParentTweet().getId();
+        ThreadPrefix parentPrefix = prefixes.getIfPresent(parentId);
+        if (parentPrefix != null) {
+            long[] ids = Arrays.copyOf(parentPrefix.ids(), parentPrefix.length() + 1);
+            ids[parentPrefix.length()] = parentId;
+            cache(tweet.getId(), ids);
+            return ids;
+        }
+
+        List<Long> chain = tweetRepository.findAncestorChainIds(parentId, maxDepth);
+        long[] ids = chain.stream().mapToLong(Long::longValue).toArray();
+        // Derinlik sınırına takılan zincir köke ulaşmamış olabilir, önbelleğe alınmaz
+        if (chain.size() < maxDepth) {
+            cache(tweet.getId(), ids);
+        }
+        return ids;
+    }
+
+    // ids[i] tweet'inin ataları ids[0..i) önekidir
+    private void cache(Long tweetId, long[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            prefixes.put(ids[i], new ThreadPrefix(ids, i));
+        }
+        if (tweetId != null) {
+            prefixes.put(tweetId, new ThreadPrefix(ids, ids.length));
+        }
+    }
+
+    private record ThreadPrefix(long[] ids, int length) {
+        long[] toArray() {
+            return Arrays.copyOf(ids, length);
+        }
+    }
+}
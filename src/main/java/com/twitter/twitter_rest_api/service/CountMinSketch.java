@@ -0,0 +1,128 @@
+package com.twitter.twitter_rest_api.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Sabit bellekli frekans tahmini: depth satırın her birinde anahtar bir sayaca düşer, tahmin
+// satırların en küçüğüdür. Çakışmalar yüzünden tahmin gerçek sayıdan büyük olabilir, küçük olamaz.
+// Hücre indeksleri anahtar başına bir kez hesaplanır, aynı boyuttaki tüm sketch'lerde kullanılır
+final class CountMinSketch {
+    private static final long SEED = 0x9747b28cL;
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final int depth;
+    private final int width;
+    private final int[][] table;
+
+    CountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.table = new int[depth][width];
+    }
+
+    // Kirsch-Mitzenmacher: depth adet indeks iki hash'ten türetilir. İkisi de UTF-8 baytların
+    // 64 bit murmur3 özetinin yarılarıdır; String.hashCode'dan türetilseydi hashCode'u çakışan
+    // anahtarlar her satırda aynı hücreye düşerdi
+    static int[] indexes(String key, int depth, int width) {
+        long hash = murmur3(key.getBytes(StandardCharsets.UTF_8));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int[] indexes = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            indexes[row] = Math.floorMod(h1 + row * h2, width);
+        }
+        return indexes;
+    }
+
+    void add(int[] indexes) {
+        for (int row = 0; row < depth; row++) {
+            table[row][indexes[row]]++;
+        }
+    }
+
+    int estimate(int[] indexes) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table[row][indexes[row]]);
+        }
+        return min;
+    }
+
+    void clear() {
+        for (int[] row : table) {
+            Arrays.fill(row, 0);
+        }
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    int width() {
+        return width;
+    }
+
+    // MurmurHash3 x64_128'in ilk 64 biti
+    private static long murmur3(byte[] data) {
+        long h1 = SEED;
+        long h2 = SEED;
+        int blocks = data.length / 16;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = (long) LONG_LE.get(data, i * 16);
+            long k2 = (long) LONG_LE.get(data, i * 16 + 8);
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        int tail = blocks * 16;
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = data.length - 1; i >= tail + 8; i--) {
+            k2 = (k2 << 8) | (data[i] & 0xff);
+        }
+        for (int i = Math.min(data.length, tail + 8) - 1; i >= tail; i--) {
+            k1 = (k1 << 8) | (data[i] & 0xff);
+        }
+        if (data.length - tail > 8) {
+            h2 ^= mixK2(k2);
+        }
+        if (data.length > tail) {
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= data.length;
+        h2 ^= data.length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        return h1 + h2;
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,17 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.entity.EngagementType;
+
+public interface EngagementCounterService {
+    // Tweet sayacına delta ekle; işlem transaction içindeyse commit sonrası uygulanır
+    void increment(Long tweetId, EngagementType type);
+    void decrement(Long tweetId, EngagementType type);
+    // Henüz veritabanına yazılmamış deltalar, okuma tarafında DB değerinin üzerine eklenir
+    PendingCounts pending(Long tweetId);
+    // Biriken deltaları toplu UPDATE ile tweets tablosuna yaz
+    void flush();
+
+    record PendingCounts(long likes, long retweets, long replies) {
+        public static final PendingCounts NONE = new PendingCounts(0, 0, 0);
+    }
+}
@@ -0,0 +1,243 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.entity.EngagementType;
+import com.twitter.twitter_rest_api.event.InvalidationMessage;
+import com.twitter.twitter_rest_api.mapper.TweetCoreCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Beğeni/retweet/yanıt/alıntı sayaçları her istekte tweet satırını okuyup yazmak yerine
+// bellekte LongAdder'larda biriktirilir ve periyodik olarak toplu UPDATE ile yazılır.
+// Tweet id'leri şeritlere (stripe) dağıtılır; yazarlar şeridin okuma kilidini paylaşır,
+// flush sadece kendi şeridini kısa süreliğine kilitleyip biriken tabloyu yenisiyle değiştirir.
+@Slf4j
+@Service
+public class EngagementCounterServiceImpl implements EngagementCounterService {
+    private static final String FLUSH_SQL = """
+            UPDATE twitterapi.tweets
+            SET like_count = GREATEST(COALESCE(like_count, 0) + ?, 0),
+                retweet_count = GREATEST(COALESCE(retweet_count, 0) + ?, 0),
+                reply_count = GREATEST(COALESCE(reply_count, 0) + ?, 0)
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InvalidationBus invalidationBus;
+    private final TweetCoreCache tweetCoreCache;
+    private final Stripe[] stripes;
+
+    public EngagementCounterServiceImpl(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        InvalidationBus invalidationBus,
+                                        TweetCoreCache tweetCoreCache,
+                                        @Value("${app.engagement.stripes:16}") int stripeCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Çağıranın transaction'ına katılmaz (ör. resyncLikeCounts); flushing ancak bu commit'ten sonra temizlenebilir
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.invalidationBus = invalidationBus;
+        this.tweetCoreCache = tweetCoreCache;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void increment(Long tweetId, EngagementType type) {
+        addAfterCommit(tweetId, type, 1);
+    }
+
+    @Override
+    public void decrement(Long tweetId, EngagementType type) {
+        addAfterCommit(tweetId, type, -1);
+    }
+
+    @Override
+    public PendingCounts pending(Long tweetId) {
+        if (tweetId == null) {
+            return PendingCounts.NONE;
+        }
+        Stripe stripe = stripeFor(tweetId);
+        // Flush sırasında yazılmakta olan deltalar da görünür kalır. Okuma kilidi, flush'ın
+        // flushing'i boşaltıp deltaları geri koyduğu adımla aynı anda okunmasını engeller
+        stripe.lock.readLock().lock();
+        try {
+            Deltas pending = stripe.pending.get(tweetId);
+            Deltas flushing = stripe.flushing.get(tweetId);
+            if (pending == null && flushing == null) {
+                return PendingCounts.NONE;
+            }
+            return new PendingCounts(
+                    sum(pending, flushing, EngagementType.LIKE),
+                    sum(pending, flushing, EngagementType.RETWEET),
+                    sum(pending, flushing, EngagementType.REPLY)
+            );
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.engagement.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Long> flushedIds = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            ConcurrentHashMap<Long, Deltas> batch;
+            stripe.lock.writeLock().lock();
+            try {
+                batch = stripe.pending;
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                stripe.flushing = batch;
+                stripe.pending = new ConcurrentHashMap<>();
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+
+            boolean written = false;
+            try {
+                flushedIds.addAll(write(batch));
+                written = true;
+            } catch (DataAccessException e) {
+                log.error("Engagement counter flush failed, {} tweets will be retried: {}", batch.size(), e.getMessage());
+            } finally {
+                // Commit'ten hemen sonra, okuyucular beklerken: DB değeri ve flushing aynı anda görünmesin
+                stripe.lock.writeLock().lock();
+                try {
+                    if (!written) {
+                        // Yazılamayan deltalar kaybolmasın, bir sonraki flush'ta tekrar denenir
+                        batch.forEach((tweetId, deltas) -> {
+                            for (EngagementType type : EngagementType.values()) {
+                                add(tweetId, type, deltas.get(type));
+                            }
+                        });
+                    }
+                    stripe.flushing = Map.of();
+                } finally {
+                    stripe.lock.writeLock().unlock();
+                }
+            }
+        }
+        // Flush sürerken yüklenen çekirdekler yeni DB değerini içerebilir ya da içermeyebilir; bu node'dakiler
+        // bus'tan bağımsız olarak burada silinir (Postgres bus kendi mesajını almaz), diğer node'lar mesajla siler.
+        // Silme flushing boşaldıktan sonra yapılır ki yeniden yüklenen çekirdek aynı deltayı iki kez saymasın
+        if (!flushedIds.isEmpty()) {
+            flushedIds.forEach(tweetCoreCache::evictLocal);
+            try {
+                invalidationBus.publish(InvalidationMessage.tweets(flushedIds));
+            } catch (DataAccessException e) {
+                log.warn("Flushed tweet ids could not be broadcast, other nodes will refresh by TTL: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<Long> write(Map<Long, Deltas> batch) {
+        // Kilit sırası sabit olsun diye id sırasıyla yazılır
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        new TreeMap<>(batch).forEach((tweetId, deltas) -> {
+            long likes = deltas.get(EngagementType.LIKE);
+            long retweets = deltas.get(EngagementType.RETWEET);
+            long replies = deltas.get(EngagementType.REPLY);
+            if (likes != 0 || retweets != 0 || replies != 0) {
+                rows.add(new Object[]{likes, retweets, replies, tweetId});
+            }
+        });
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, rows));
+        log.debug("Flushed engagement counters for {} tweets", rows.size());
+        return rows.stream().map(row -> (Long) row[3]).toList();
+    }
+
+    private void addAfterCommit(Long tweetId, EngagementType type, long delta) {
+        // Transaction geri alınırsa sayaç da değişmemeli
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(tweetId, type, delta);
+                }
+            });
+        } else {
+            add(tweetId, type, delta);
+        }
+    }
+
+    private void add(Long tweetId, EngagementType type, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        Stripe stripe = stripeFor(tweetId);
+        stripe.lock.readLock().lock();
+        try {
+            stripe.pending.computeIfAbsent(tweetId, id -> new Deltas()).add(type, delta);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    private Stripe stripeFor(Long tweetId) {
+        return stripes[(int) Math.floorMod(tweetId, (long) stripes.length)];
+    }
+
+    private static long sum(Deltas first, Deltas second, EngagementType type) {
+        return (first != null ? first.get(type) : 0) + (second != null ? second.get(type) : 0);
+    }
+
+    private static final class Stripe {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile ConcurrentHashMap<Long, Deltas> pending = new ConcurrentHashMap<>();
+        private volatile Map<Long, Deltas> flushing = Map.of();
+    }
+
+    // Alıntılar retweet_count kolonuna yazılır
+    private static final class Deltas {
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder retweets = new LongAdder();
+        private final LongAdder replies = new LongAdder();
+
+        void add(EngagementType type, long delta) {
+            switch (type) {
+                case LIKE -> likes.add(delta);
+                case RETWEET, QUOTE -> retweets.add(delta);
+                case REPLY -> replies.add(delta);
+            }
+        }
+
+        long get(EngagementType type) {
+            return switch (type) {
+                case LIKE -> likes.sum();
+                case RETWEET -> retweets.sum();
+                case REPLY -> replies.sum();
+                case QUOTE -> 0;
+            };
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.twitter.twitter_rest_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Yanıtın sürüm özetinden güçlü (strong) ETag üretir. Özet yanıtta görünen her alanı
+// kapsadığı için aynı etiket aynı gövde anlamına gelir
+final class EntityTags {
+    private EntityTags() {
+    }
+
+    static String strong(CharSequence version) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(version.toString().getBytes(StandardCharsets.UTF_8));
+            // 128 bit çakışma için fazlasıyla yeterli, başlığı kısa tutar
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,8 +5,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface FollowService {
-    UserResponse followUser(Long followingId,String followerEmail);
-    UserResponse unfollowUser(Long followingId,String followerEmail);
+    UserResponse followUser(Long followingId,Long followerId);
+    UserResponse unfollowUser(Long followingId,Long followerId);
     Page<UserResponse> getFollowers(Long userId, Pageable pageable);
     Page<UserResponse> getFollowing(Long userId,Pageable pageable);
     boolean isFollowing(Long followerId,Long followingId);
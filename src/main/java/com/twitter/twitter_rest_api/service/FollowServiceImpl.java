@@ -3,11 +3,14 @@ package com.twitter.twitter_rest_api.service;
 import com.twitter.twitter_rest_api.dto.UserResponse;
 import com.twitter.twitter_rest_api.entity.Follow;
 import com.twitter.twitter_rest_api.entity.User;
+import com.twitter.twitter_rest_api.event.FollowChangedEvent;
 import com.twitter.twitter_rest_api.exceptions.ApiException;
 import com.twitter.twitter_rest_api.repository.FollowRepository;
 import com.twitter.twitter_rest_api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -17,10 +20,12 @@ import org.springframework.stereotype.Service;
 public class FollowServiceImpl implements FollowService {
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserProfileCache userProfileCache;
     @Override
-    public UserResponse followUser(Long followingId, String followerEmail) {
+    public UserResponse followUser(Long followingId, Long followerId) {
         //current user yani oturum açmış kullanıcıyı bul
-        User follower=userRepository.findByEmail(followerEmail)
+        User follower=userRepository.findById(followerId)
                 .orElseThrow(() -> new ApiException("Current user bulunamadı(takip edecek kullanıcı):", HttpStatus.NOT_FOUND));
         // takip edilecek kullanıcıyı bul
         User following=userRepository.findById(followingId)
@@ -43,28 +48,15 @@ public class FollowServiceImpl implements FollowService {
         followRepository.save(newFollow);
         userRepository.save(follower);
         userRepository.save(following);
+        eventPublisher.publishEvent(new FollowChangedEvent(follower.getId(), following.getId(), true));
 
-        return new UserResponse(
-                following.getId(),
-                following.getFullName(),
-                following.getUsername(),
-                following.getEmail(),
-                following.getBio(),
-                following.getProfileImage(),
-                following.getHeaderImage(),
-                following.getFollowersCount(),
-                following.getFollowingCount(),
-                following.getTweetsCount(),
-                following.getVerified(),
-                following.getPrivateAccount(),
-                following.getCreatedAt()
-        );
+        return UserResponse.from(following);
     }
 
     @Override
-    public UserResponse unfollowUser(Long followingId, String followerEmail) {
+    public UserResponse unfollowUser(Long followingId, Long followerId) {
         //current user yani oturum açmış kullanıcıyı bul
-        User follower=userRepository.findByEmail(followerEmail)
+        User follower=userRepository.findById(followerId)
                 .orElseThrow(() -> new ApiException("Current user bulunamadı(takip edecek kullanıcı):", HttpStatus.NOT_FOUND));
         // takip edilen kullanıcıyı bul
         User following=userRepository.findById(followingId)
@@ -79,66 +71,27 @@ public class FollowServiceImpl implements FollowService {
         followRepository.delete(follow);
         userRepository.save(follower);
         userRepository.save(following);
+        eventPublisher.publishEvent(new FollowChangedEvent(follower.getId(), following.getId(), false));
 
-        return new UserResponse(
-                following.getId(),
-                following.getFullName(),
-                following.getUsername(),
-                following.getEmail(),
-                following.getBio(),
-                following.getProfileImage(),
-                following.getHeaderImage(),
-                following.getFollowersCount(),
-                following.getFollowingCount(),
-                following.getTweetsCount(),
-                following.getVerified(),
-                following.getPrivateAccount(),
-                following.getCreatedAt()
-        );
+        return UserResponse.from(following);
     }
 
     @Override
     public Page<UserResponse> getFollowers(Long userId, Pageable pageable) {
-        User targetUser=userRepository.findById(userId)
-                .orElseThrow(()->new ApiException("Kullanıcı bulunamadı",HttpStatus.NOT_FOUND));
-        return followRepository.findFollowersByUserId(targetUser.getId(),pageable)
-                .map(user -> new UserResponse(
-                        user.getId(),
-                        user.getFullName(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getBio(),
-                        user.getProfileImage(),
-                        user.getHeaderImage(),
-                        user.getFollowersCount(),
-                        user.getFollowingCount(),
-                        user.getTweetsCount(),
-                        user.getVerified(),
-                        user.getPrivateAccount(),
-                        user.getCreatedAt()
-                ));
+        // Hedef kullanıcı yoksa 404; profili zaten önbellekte olabilir
+        userProfileCache.get(userId);
+        // Sadece sayfadaki id'ler okunur, profiller önbellekten toplu doldurulur
+        Page<Long> ids = followRepository.findFollowerIdsByUserId(userId, pageable);
+        return new PageImpl<>(userProfileCache.getAll(ids.getContent()), pageable, ids.getTotalElements());
     }
 
     @Override
     public Page<UserResponse> getFollowing(Long userId, Pageable pageable) {
-        User targetUser=userRepository.findById(userId)
-                .orElseThrow(()->new ApiException("Kullanıcı bulunamadı",HttpStatus.NOT_FOUND));
-        return followRepository.findFollowingsByUserId(targetUser.getId(),pageable)
-                .map(user ->new UserResponse(
-                        user.getId(),
-                        user.getFullName(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getBio(),
-                        user.getProfileImage(),
-                        user.getHeaderImage(),
-                        user.getFollowersCount(),
-                        user.getFollowingCount(),
-                        user.getTweetsCount(),
-                        user.getVerified(),
-                        user.getPrivateAccount(),
-                        user.getCreatedAt()
-                ));
+        // Hedef kullanıcı yoksa 404; profili zaten önbellekte olabilir
+        userProfileCache.get(userId);
+        // Sadece sayfadaki id'ler okunur, profiller önbellekten toplu doldurulur
+        Page<Long> ids = followRepository.findFollowingIdsByUserId(userId, pageable);
+        return new PageImpl<>(userProfileCache.getAll(ids.getContent()), pageable, ids.getTotalElements());
     }
 
     @Override
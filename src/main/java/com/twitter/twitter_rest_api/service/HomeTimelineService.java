@@ -0,0 +1,15 @@
+package com.twitter.twitter_rest_api.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+
+public interface HomeTimelineService {
+    // Kullanıcının home timeline'ındaki istenen sayfanın tweet id'lerini getir (en yeni önce)
+    Page<Long> getTimelineIds(Long userId, Pageable pageable);
+    // Kullanıcının timeline'ını bellekten at, bir sonraki okumada yeniden oluşturulur
+    void evict(Long userId);
+    // Silinmiş ya da geri alınmış tweetleri kullanıcının bellekteki timeline'ından çıkar
+    void remove(Long userId, Collection<Long> tweetIds);
+}
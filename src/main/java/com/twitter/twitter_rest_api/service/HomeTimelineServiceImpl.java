@@ -0,0 +1,191 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.twitter.twitter_rest_api.entity.TweetType;
+import com.twitter.twitter_rest_api.event.FollowChangedEvent;
+import com.twitter.twitter_rest_api.event.TweetCreatedEvent;
+import com.twitter.twitter_rest_api.event.TweetDeletedEvent;
+import com.twitter.twitter_rest_api.repository.FollowRepository;
+import com.twitter.twitter_rest_api.repository.TweetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Fan-out-on-write home timeline. Her kullanıcı için sınırlı boyutta bir tweet id listesi
+// bellekte tutulur; yeni tweetler yazıldığı anda takipçilerin listelerine itilir.
+// Bellekte olmayan timeline ilk okumada takip edilen kullanıcıların tweetlerinden doldurulur.
+@Slf4j
+@Service
+public class HomeTimelineServiceImpl implements HomeTimelineService {
+    private static final Set<TweetType> TIMELINE_TYPES =
+            EnumSet.of(TweetType.TWEET, TweetType.RETWEET, TweetType.QUOTE);
+
+    private final FollowRepository followRepository;
+    private final TweetRepository tweetRepository;
+    private final int maxSize;
+    private final Cache<Long, HomeTimeline> timelines;
+
+    public HomeTimelineServiceImpl(FollowRepository followRepository,
+                                   TweetRepository tweetRepository,
+                                   @Value("${app.timeline.max-size:800}") int maxSize,
+                                   @Value("${app.timeline.max-cached-users:50000}") long maxCachedUsers,
+                                   @Value("${app.timeline.expire-after-access-minutes:60}") long expireAfterAccessMinutes) {
+        this.followRepository = followRepository;
+        this.tweetRepository = tweetRepository;
+        this.maxSize = maxSize;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxCachedUsers)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .build();
+    }
+
+    @Override
+    public Page<Long> getTimelineIds(Long userId, Pageable pageable) {
+        HomeTimeline timeline = timelines.get(userId, this::loadTimeline);
+        List<Long> ids = timeline.page((int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(ids, pageable, timeline.size());
+    }
+
+    @Override
+    public void evict(Long userId) {
+        timelines.invalidate(userId);
+    }
+
+    @Override
+    public void remove(Long userId, Collection<Long> tweetIds) {
+        HomeTimeline timeline = timelines.getIfPresent(userId);
+        if (timeline != null && !tweetIds.isEmpty()) {
+            timeline.removeAll(Set.copyOf(tweetIds));
+        }
+    }
+
+    @Async("timelineExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetCreated(TweetCreatedEvent event) {
+        if (!TIMELINE_TYPES.contains(event.tweetType())) {
+            return;
+        }
+        push(event.authorId(), event.tweetId());
+        // Sadece bellekte timeline'ı olan takipçilere itilir, diğerleri ilk okumada DB'den dolar
+        List<Long> followerIds = followRepository.findFollowerIdsByUserId(event.authorId());
+        for (Long followerId : followerIds) {
+            push(followerId, event.tweetId());
+        }
+        log.debug("Tweet {} fanned out to {} followers", event.tweetId(), followerIds.size());
+    }
+
+    // Silinen tweet toplam sayıyı şişirmesin diye bellekte timeline'ı olan takipçilerden de çıkarılır
+    @Async("timelineExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetDeleted(TweetDeletedEvent event) {
+        List<Long> removed = List.of(event.tweetId());
+        remove(event.authorId(), removed);
+        for (Long followerId : followRepository.findFollowerIdsByUserId(event.authorId())) {
+            remove(followerId, removed);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        // Takip listesi değişti, timeline yeniden oluşturulmalı
+        evict(event.followerId());
+    }
+
+    private void push(Long userId, Long tweetId) {
+        timelines.asMap().computeIfPresent(userId, (id, timeline) -> {
+            timeline.push(tweetId);
+            return timeline;
+        });
+    }
+
+    private HomeTimeline loadTimeline(Long userId) {
+        List<Long> authorIds = new ArrayList<>(followRepository.findFollowingIdsByUserId(userId));
+        authorIds.add(userId);
+        List<Long> newestFirst = tweetRepository.findTimelineTweetIds(authorIds, PageRequest.of(0, maxSize));
+
+        HomeTimeline timeline = new HomeTimeline(maxSize);
+        List<Long> oldestFirst = new ArrayList<>(newestFirst);
+        Collections.reverse(oldestFirst);
+        oldestFirst.forEach(timeline::push);
+        log.debug("Home timeline loaded for user {} with {} tweets", userId, newestFirst.size());
+        return timeline;
+    }
+
+    // Sabit kapasiteli halka tampon; kapasite dolunca en eski tweet düşer
+    private static final class HomeTimeline {
+        // Isıtma ile eşzamanlı fan-out aynı id'yi iki kez itebilir
+        private static final int DEDUP_WINDOW = 16;
+
+        private final long[] ids;
+        private int head;
+        private int size;
+
+        HomeTimeline(int capacity) {
+            this.ids = new long[capacity];
+        }
+
+        synchronized void push(long tweetId) {
+            for (int i = 0; i < Math.min(size, DEDUP_WINDOW); i++) {
+                if (get(i) == tweetId) {
+                    return;
+                }
+            }
+            ids[head] = tweetId;
+            head = (head + 1) % ids.length;
+            if (size < ids.length) {
+                size++;
+            }
+        }
+
+        // Kalan id'ler sırası korunarak tamponun başına yeniden yazılır
+        synchronized void removeAll(Set<Long> tweetIds) {
+            long[] kept = new long[size];
+            int keptCount = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                long id = get(i);
+                if (!tweetIds.contains(id)) {
+                    kept[keptCount++] = id;
+                }
+            }
+            if (keptCount == size) {
+                return;
+            }
+            System.arraycopy(kept, 0, ids, 0, keptCount);
+            head = keptCount % ids.length;
+            size = keptCount;
+        }
+
+        synchronized List<Long> page(int offset, int limit) {
+            List<Long> result = new ArrayList<>(Math.max(0, Math.min(limit, size - offset)));
+            for (int i = offset; i < size && i < offset + limit; i++) {
+                result.add(get(i));
+            }
+            return result;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        // 0 en yeni tweet
+        private long get(int index) {
+            return ids[Math.floorMod(head - 1 - index, ids.length)];
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.event.InvalidationMessage;
+
+import java.util.function.Consumer;
+
+// Birden fazla node'da bellek içi (near) önbelleklerin tutarlı kalması için geçersiz kılma kanalı
+public interface InvalidationBus {
+    // Transaction içinde çağrılırsa mesaj commit sonrası teslim edilir, geri alınırsa hiç gönderilmez
+    void publish(InvalidationMessage message);
+    // Dinleyiciler diğer node'ların mesajlarını alır; loopback'te kendi mesajlarını da alır
+    void subscribe(Consumer<InvalidationMessage> listener);
+}
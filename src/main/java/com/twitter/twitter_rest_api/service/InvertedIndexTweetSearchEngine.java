@@ -0,0 +1,334 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.entity.TweetType;
+import com.twitter.twitter_rest_api.event.TweetCreatedEvent;
+import com.twitter.twitter_rest_api.event.TweetDeletedEvent;
+import com.twitter.twitter_rest_api.event.TweetUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Tweet içerikleri için bellek içi ters indeks: terim -> tweet id listesi (posting list).
+// Id'ler IDENTITY ile arttığı için id sırası oluşturulma sırasıdır; listeler artan tutulur,
+// yeni tweet listenin sonuna eklenir ve sonuçlar sondan başa (en yeni önce) okunur.
+// Çok terimli sorgu en kısa listeden başlayıp diğerlerinde ikili arama yaparak kesişim alır.
+// İndeks bu node'daki event'lerle güncellenir, açılışta veritabanından yeniden kurulur
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "inverted-index", matchIfMissing = true)
+public class InvertedIndexTweetSearchEngine implements TweetSearchEngine {
+    private static final String REBUILD_SQL = """
+            SELECT t.id, t.content
+            FROM twitterapi.tweets t
+            WHERE t.id > ?
+            AND t.is_deleted = false
+            AND t.tweet_type <> 'RETWEET'
+            ORDER BY t.id
+            LIMIT ?
+            """;
+    private static final String LOAD_SQL = """
+            SELECT t.id, t.content
+            FROM twitterapi.tweets t
+            WHERE t.id = ?
+            AND t.is_deleted = false
+            AND t.tweet_type <> 'RETWEET'
+            """;
+    // Çok uzun sorgular kesişimi pahalılaştırmasın
+    private static final int MAX_QUERY_TERMS = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean rebuildOnStartup;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    // Güncelleme/silmede eski terimleri listelerden çıkarmak için
+    private final Map<Long, String[]> termsByTweet = new HashMap<>();
+    // Yeniden kurulum sürerken değişen tweetler; okunan parça eski içeriği taşıyabilir,
+    // kurulum bitince veritabanından tekrar okunur
+    private Set<Long> touchedDuringRebuild;
+
+    public InvertedIndexTweetSearchEngine(JdbcTemplate jdbcTemplate,
+                                          @Value("${app.search.index.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                                          @Value("${app.search.index.rebuild-batch-size:5000}") int rebuildBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    @Override
+    public SearchHits search(String query, int offset, int limit) {
+        Set<String> terms = SearchTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    return SearchHits.EMPTY;
+                }
+                lists.add(list);
+                if (lists.size() == MAX_QUERY_TERMS) {
+                    break;
+                }
+            }
+            // Tek terimde liste kopyalanmaz, sayfa okuma kilidi altında doğrudan listeden alınır
+            long[] matches;
+            int total;
+            if (lists.size() == 1) {
+                matches = lists.get(0).ids;
+                total = lists.get(0).size;
+            } else {
+                lists.sort(Comparator.comparingInt(PostingList::size));
+                matches = intersect(lists);
+                total = matches.length;
+            }
+
+            List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, total - offset)));
+            for (int i = total - 1 - offset; i >= 0 && page.size() < limit; i--) {
+                page.add(matches[i]);
+            }
+            return new SearchHits(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // En kısa listedeki her id diğer listelerde aranır; aramanın alt sınırı ilerledikçe daralır
+    private static long[] intersect(List<PostingList> lists) {
+        PostingList smallest = lists.get(0);
+        long[] candidates = Arrays.copyOf(smallest.ids, smallest.size);
+        int count = candidates.length;
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            PostingList other = lists.get(l);
+            int from = 0;
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int position = Arrays.binarySearch(other.ids, from, other.size, candidates[i]);
+                if (position >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+                if (from >= other.size) {
+                    break;
+                }
+            }
+            count = kept;
+        }
+        return count == candidates.length ? candidates : Arrays.copyOf(candidates, count);
+    }
+
+    public void index(Long tweetId, String content) {
+        String[] terms = SearchTokenizer.tokenize(content).toArray(String[]::new);
+        lock.writeLock().lock();
+        try {
+            removeLocked(tweetId);
+            for (int i = 0; i < terms.length; i++) {
+                PostingList list = postings.computeIfAbsent(terms[i], PostingList::new);
+                list.add(tweetId);
+                // Terim başına tek String kopyası kalsın
+                terms[i] = list.term;
+            }
+            termsByTweet.put(tweetId, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long tweetId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(tweetId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long tweetId) {
+        String[] terms = termsByTweet.remove(tweetId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list != null && list.remove(tweetId) && list.size() == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetCreated(TweetCreatedEvent event) {
+        // Retweet orijinal içeriği tekrarlar, aramada orijinal tweet bulunur
+        if (event.tweetType() != TweetType.RETWEET) {
+            markTouched(event.tweetId());
+            index(event.tweetId(), event.content());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetUpdated(TweetUpdatedEvent event) {
+        markTouched(event.tweetId());
+        // Silinmiş tweet ve retweetler indekste yoktur, düzenleme onları eklememeli
+        if (isIndexed(event.tweetId())) {
+            index(event.tweetId(), event.content());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetDeleted(TweetDeletedEvent event) {
+        markTouched(event.tweetId());
+        remove(event.tweetId());
+    }
+
+    private boolean isIndexed(Long tweetId) {
+        lock.readLock().lock();
+        try {
+            return termsByTweet.containsKey(tweetId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markTouched(Long tweetId) {
+        lock.writeLock().lock();
+        try {
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.add(tweetId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Silinmiş ya da retweet ise satır gelmez ve indeksten çıkarılır
+    private void reload(Long tweetId) {
+        List<String> contents = jdbcTemplate.query(LOAD_SQL, (rs, rowNum) -> rs.getString("content"), tweetId);
+        if (contents.isEmpty()) {
+            remove(tweetId);
+        } else {
+            index(tweetId, contents.get(0));
+        }
+    }
+
+    // Silinmemiş tweetler id sırasıyla parça parça okunur; tüm tablo belleğe alınmaz
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long lastId = 0;
+        int indexed = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(REBUILD_SQL,
+                    (rs, rowNum) -> new Object[]{rs.getLong("id"), rs.getString("content")},
+                    lastId, rebuildBatchSize);
+            for (Object[] row : rows) {
+                index((Long) row[0], (String) row[1]);
+            }
+            indexed += rows.size();
+            if (rows.size() < rebuildBatchSize) {
+                break;
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+
+        Set<Long> touched;
+        lock.writeLock().lock();
+        try {
+            touched = touchedDuringRebuild;
+            touchedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        touched.forEach(this::reload);
+        log.info("Arama indeksi kuruldu: {} tweet, {} terim, {} ms",
+                indexed, termCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Artan sıralı, tekrarsız tweet id dizisi. Yeni tweetler sona eklendiği için ekleme genelde O(1)
+    private static final class PostingList {
+        private final String term;
+        private long[] ids = new long[4];
+        private int size;
+
+        PostingList(String term) {
+            this.term = term;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.twitter.twitter_rest_api.service;
+
+import java.time.LocalDateTime;
+
+public interface LastLoginRecorder {
+    // Giriş zamanı bellekte tutulur, periyodik toplu UPDATE ile app_user tablosuna yazılır
+    void record(Long userId, LocalDateTime loginAt);
+    void flush();
+}
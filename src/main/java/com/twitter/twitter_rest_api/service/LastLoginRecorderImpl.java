@@ -0,0 +1,72 @@
+package com.twitter.twitter_rest_api.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Her login'de kullanıcı satırını okuyup kaydetmek yerine son giriş zamanı kullanıcı başına
+// tek kayıtta birleştirilir; aynı kullanıcının aralıktaki girişleri tek UPDATE'e iner
+@Slf4j
+@Service
+public class LastLoginRecorderImpl implements LastLoginRecorder {
+    private static final String FLUSH_SQL = """
+            UPDATE twitterapi.app_user
+            SET last_login_at = ?
+            WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public LastLoginRecorderImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.auth.last-login-flush-interval-ms:10000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Kilit sırası sabit olsun diye id sırasıyla yazılır
+        Map<Long, LocalDateTime> batch = new TreeMap<>(pending);
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach((userId, loginAt) -> {
+            Timestamp timestamp = Timestamp.valueOf(loginAt);
+            rows.add(new Object[]{timestamp, userId, timestamp});
+        });
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, rows));
+            // Yazım sırasında gelen daha yeni girişler bir sonraki flush'a kalır
+            batch.forEach(pending::remove);
+            log.debug("Flushed last login times for {} users", rows.size());
+        } catch (DataAccessException e) {
+            log.error("Last login flush failed, {} users will be retried: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
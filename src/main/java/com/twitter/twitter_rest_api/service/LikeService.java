@@ -10,9 +10,14 @@ import java.util.List;
 public interface LikeService {
 
     // Bir gönderiyi beğen yada beğenilmişse geri çek
-    TweetResponse toggleLike(Long tweetId, String userEmail);
+    TweetResponse toggleLike(Long tweetId, Long userId);
+    // Idempotent beğen / beğeniyi kaldır, sadece yeni durum ve sayı döner
+    LikeResponse like(Long tweetId, Long userId);
+    LikeResponse unlike(Long tweetId, Long userId);
     // Bir kullanıcının beğendiği tweetleri getir
     List<Tweet> getLikedTweets(Long userId);
     // Bir tweeti beğenen kullanıcıları getir
     List<User> getLikedByUsers(Long tweetId);
+    // like_count kolonunu tweet_likes tablosundan yeniden hesapla
+    int resyncLikeCounts();
 }
@@ -1,17 +1,24 @@
 package com.twitter.twitter_rest_api.service;
 
+import com.twitter.twitter_rest_api.dto.LikeResponse;
 import com.twitter.twitter_rest_api.dto.TweetResponse;
+import com.twitter.twitter_rest_api.entity.EngagementType;
 import com.twitter.twitter_rest_api.entity.Tweet;
 import com.twitter.twitter_rest_api.entity.TweetLike;
 import com.twitter.twitter_rest_api.entity.TweetType;
 import com.twitter.twitter_rest_api.entity.User;
 import com.twitter.twitter_rest_api.exceptions.ApiException;
+import com.twitter.twitter_rest_api.mapper.TweetCoreCache;
 import com.twitter.twitter_rest_api.mapper.TweetMapper;
 import com.twitter.twitter_rest_api.repository.TweetLikeRepository;
 import com.twitter.twitter_rest_api.repository.TweetRepository;
 import com.twitter.twitter_rest_api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class LikeServiceImpl implements LikeService{
@@ -27,14 +35,19 @@ public class LikeServiceImpl implements LikeService{
     private final TweetRepository tweetRepository;
     private final UserRepository userRepository;
     private final TweetMapper tweetMapper;
+    private final EngagementCounterService engagementCounterService;
+    private final TweetCoreCache tweetCoreCache;
+
+    @Value("${app.tweets.resync-like-counts-on-startup:false}")
+    private boolean resyncLikeCountsOnStartup;
 
 
     @Override
     @Transactional
-    public TweetResponse toggleLike(Long tweetId, String userEmail) {
+    public TweetResponse toggleLike(Long tweetId, Long userId) {
         try {
-            User user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı", HttpStatus.NOT_FOUND));
+            // Kullanıcı satırı okunmaz; beğeni kaydı ve sorgular için id yeterli
+            User user = userRepository.getReferenceById(userId);
             Tweet tweet = tweetRepository.findById(tweetId)
                     .orElseThrow(() -> new ApiException("Tweet bulunamadı", HttpStatus.NOT_FOUND));
             if(tweet.isDeleted()){
@@ -48,19 +61,26 @@ public class LikeServiceImpl implements LikeService{
             Optional<TweetLike> existingLike = tweetLikeRepository
                     .findByUserAndTweet(user, targetTweet);
 
+            int delta;
             if (existingLike.isPresent()) {
                 tweetLikeRepository.delete(existingLike.get());
-
+                engagementCounterService.decrement(targetTweet.getId(), EngagementType.LIKE);
+                tweetCoreCache.evict(targetTweet.getId());
+                delta = -1;
             } else {
                 TweetLike newLike = new TweetLike();
                 newLike.setTweet(targetTweet);
                 newLike.setUser(user);
                 tweetLikeRepository.save(newLike);
-
-
+                engagementCounterService.increment(targetTweet.getId(), EngagementType.LIKE);
+                tweetCoreCache.evict(targetTweet.getId());
+                delta = 1;
             }
             tweetRepository.flush();
-            return tweetMapper.toTweetResponse(tweet, user);
+            // Sayaç commit sonrası uygulanacağı için yanıttaki değer burada düzeltilir
+            TweetResponse response = tweetMapper.toTweetResponse(tweet, user);
+            response.setLikeCount(Math.max(response.getLikeCount() + delta, 0));
+            return response;
         } catch (Exception e) {
             throw new ApiException("Beğeni işlemi sırasında hata: "+e.getMessage(),HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -68,6 +88,66 @@ public class LikeServiceImpl implements LikeService{
 
 
 
+    @Override
+    @Transactional
+    public LikeResponse like(Long tweetId, Long userId) {
+        TweetRepository.LikeTarget target = findLikeTarget(tweetId);
+        if (target.isDeleted()) {
+            throw new ApiException("Silinmiş Tweet Beğenilemez", HttpStatus.BAD_REQUEST);
+        }
+        // Tekrarlanan istek unique (tweet_id, user_id) kısıtına takılır ve sayacı değiştirmez
+        int delta = tweetLikeRepository.insertIfAbsent(target.getId(), userId);
+        if (delta > 0) {
+            engagementCounterService.increment(target.getId(), EngagementType.LIKE);
+            tweetCoreCache.evict(target.getId());
+        }
+        return toLikeResponse(tweetId, target, true, delta);
+    }
+
+    @Override
+    @Transactional
+    public LikeResponse unlike(Long tweetId, Long userId) {
+        TweetRepository.LikeTarget target = findLikeTarget(tweetId);
+        int deleted = tweetLikeRepository.deleteByTweetIdAndUserId(target.getId(), userId);
+        if (deleted > 0) {
+            engagementCounterService.decrement(target.getId(), EngagementType.LIKE);
+            tweetCoreCache.evict(target.getId());
+        }
+        return toLikeResponse(tweetId, target, false, -deleted);
+    }
+
+    private TweetRepository.LikeTarget findLikeTarget(Long tweetId) {
+        return tweetRepository.findLikeTarget(tweetId)
+                .orElseThrow(() -> new ApiException("Tweet bulunamadı", HttpStatus.NOT_FOUND));
+    }
+
+    // Sayaç commit sonrası uygulanacağı için bu isteğin deltası da eklenir
+    private LikeResponse toLikeResponse(Long tweetId, TweetRepository.LikeTarget target, boolean liked, int delta) {
+        long stored = target.getLikeCount() != null ? target.getLikeCount() : 0;
+        long likeCount = stored + engagementCounterService.pending(target.getId()).likes() + delta;
+        Long retweetId = target.getTweetType() == TweetType.RETWEET ? tweetId : null;
+        return new LikeResponse(liked, target.getId(), retweetId, (int) Math.max(likeCount, 0));
+    }
+
+    @Override
+    @Transactional
+    public int resyncLikeCounts() {
+        // Bekleyen deltalar yeniden sayılan değerin üzerine iki kez eklenmesin
+        engagementCounterService.flush();
+        int updated = tweetRepository.resyncLikeCounts();
+        log.info("like_count resynced for {} tweets", updated);
+        return updated;
+    }
+
+    // Eski kayıtlarda like_count hiç güncellenmemişti; geçişte bir kere açılması yeterli
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void resyncLikeCountsIfEnabled() {
+        if (resyncLikeCountsOnStartup) {
+            resyncLikeCounts();
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Tweet> getLikedTweets(Long userId) {
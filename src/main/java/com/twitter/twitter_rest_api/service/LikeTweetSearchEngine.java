@@ -0,0 +1,54 @@
+package com.twitter.twitter_rest_api.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+// Yedek motor: indeks gerektirmez, her veritabanında (H2 dahil) çalışır ama her sorguda tabloyu tarar.
+// Sorgu tek bir alt metin olarak aranır; % ve _ kaçırılır ki joker karakter gibi davranmasın
+@Service
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "like")
+public class LikeTweetSearchEngine implements TweetSearchEngine {
+    private static final String SEARCH_SQL = """
+            SELECT t.id
+            FROM twitterapi.tweets t
+            WHERE LOWER(t.content) LIKE ? ESCAPE '\\'
+            AND t.is_deleted = false
+            AND t.tweet_type <> 'RETWEET'
+            ORDER BY t.id DESC
+            LIMIT ? OFFSET ?
+            """;
+    private static final String COUNT_SQL = """
+            SELECT COUNT(*)
+            FROM twitterapi.tweets t
+            WHERE LOWER(t.content) LIKE ? ESCAPE '\\'
+            AND t.is_deleted = false
+            AND t.tweet_type <> 'RETWEET'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LikeTweetSearchEngine(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public SearchHits search(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            return SearchHits.EMPTY;
+        }
+        String pattern = "%" + query.strip().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        List<Long> ids = jdbcTemplate.queryForList(SEARCH_SQL, Long.class, pattern, limit, offset);
+        if (offset == 0 && ids.size() < limit) {
+            return new SearchHits(ids, ids.size());
+        }
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, pattern);
+        return new SearchHits(ids, total == null ? 0 : total);
+    }
+}
@@ -0,0 +1,41 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.event.InvalidationMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Tek node ve testler için: mesajlar aynı süreçteki dinleyicilere commit sonrası iletilir
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.bus", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackInvalidationBus implements InvalidationBus {
+    private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(message);
+                }
+            });
+        } else {
+            deliver(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliver(InvalidationMessage message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+}
@@ -0,0 +1,78 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.event.FollowChangedEvent;
+import com.twitter.twitter_rest_api.event.InvalidationMessage;
+import com.twitter.twitter_rest_api.event.TweetCreatedEvent;
+import com.twitter.twitter_rest_api.event.TweetDeletedEvent;
+import com.twitter.twitter_rest_api.event.UserChangedEvent;
+import com.twitter.twitter_rest_api.mapper.TweetCoreCache;
+import com.twitter.twitter_rest_api.security.PrincipalCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Kullanıcı tarafındaki değişiklikleri bus'a yayınlar ve diğer node'lardan gelen mesajlarla
+// bu node'un yakın önbelleklerini temizler. Tweet çekirdekleri TweetCoreCache.evict'te yayınlanır.
+// Yayın commit'ten önce aynı transaction içinde yapılır; bus mesajı commit'le birlikte teslim eder
+@Slf4j
+@Component
+public class NearCacheInvalidator {
+    private final InvalidationBus invalidationBus;
+    private final TweetCoreCache tweetCoreCache;
+    private final UserProfileCache userProfileCache;
+    private final PrincipalCache principalCache;
+
+    public NearCacheInvalidator(InvalidationBus invalidationBus,
+                                TweetCoreCache tweetCoreCache,
+                                UserProfileCache userProfileCache,
+                                PrincipalCache principalCache) {
+        this.invalidationBus = invalidationBus;
+        this.tweetCoreCache = tweetCoreCache;
+        this.userProfileCache = userProfileCache;
+        this.principalCache = principalCache;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        invalidationBus.subscribe(this::apply);
+    }
+
+    void apply(InvalidationMessage message) {
+        log.debug("Invalidation mesajı alındı: {}", message);
+        switch (message.type()) {
+            case TWEET -> message.ids().forEach(tweetCoreCache::evictLocal);
+            case USER -> message.ids().forEach(userId -> {
+                userProfileCache.evict(userId);
+                principalCache.invalidate(userId);
+            });
+            case ALL -> {
+                tweetCoreCache.clearLocal();
+                userProfileCache.clear();
+                principalCache.invalidateAll();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidationBus.publish(InvalidationMessage.users(event.userId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        invalidationBus.publish(InvalidationMessage.users(event.followerId(), event.followedId()));
+    }
+
+    // Yazarın tweet sayacı değişir
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTweetCreated(TweetCreatedEvent event) {
+        invalidationBus.publish(InvalidationMessage.users(event.authorId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTweetDeleted(TweetDeletedEvent event) {
+        invalidationBus.publish(InvalidationMessage.users(event.authorId()));
+    }
+}
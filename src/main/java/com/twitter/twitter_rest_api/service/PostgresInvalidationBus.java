@@ -0,0 +1,172 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.event.InvalidationMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Birden fazla node için Postgres LISTEN/NOTIFY. pg_notify çağıranın transaction'ına katılır;
+// Postgres bildirimi sadece commit'te dağıtır, rollback'te atar. Her node ayrı bir bağlantıda
+// kanalı dinler ve kendi gönderdiği mesajları atlar. Bağlantı koptuğunda aradaki mesajlar
+// kaçmış olabileceği için yeniden bağlanınca tüm yakın önbellekler temizlenir
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.bus", havingValue = "postgres")
+public class PostgresInvalidationBus implements InvalidationBus {
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    // Postgres payload sınırı 8000 byte; id listesi bu kadarlık parçalara bölünür
+    private static final int MAX_IDS_PER_NOTIFY = 300;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    public PostgresInvalidationBus(JdbcTemplate jdbcTemplate,
+                                   DataSource dataSource,
+                                   @Value("${app.cache.invalidation.channel:cache_invalidation}") String channel,
+                                   @Value("${app.cache.invalidation.poll-timeout-ms:1000}") int pollTimeoutMs,
+                                   @Value("${app.cache.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        // LISTEN parametre almadığı için kanal adı sorguya doğrudan yazılır
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Geçersiz kanal adı: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        List<Long> ids = message.ids();
+        if (ids.size() <= MAX_IDS_PER_NOTIFY) {
+            notify(message);
+            return;
+        }
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_NOTIFY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_NOTIFY, ids.size()));
+            notify(new InvalidationMessage(message.type(), chunk));
+        }
+    }
+
+    private void notify(InvalidationMessage message) {
+        jdbcTemplate.query(NOTIFY_SQL, (RowCallbackHandler) rs -> { }, channel, nodeId + "|" + message.encode());
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        listenerThread.interrupt();
+        closeQuietly(listenConnection);
+    }
+
+    private void listenLoop() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                listenConnection = connection;
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnect) {
+                    log.info("Invalidation kanalına yeniden bağlanıldı, yakın önbellekler temizleniyor");
+                    deliver(InvalidationMessage.ALL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation kanalı dinlenemiyor, {} ms sonra tekrar denenecek: {}",
+                        reconnectDelayMs, e.getMessage());
+                reconnect = true;
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            deliver(InvalidationMessage.decode(payload.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Geçersiz invalidation mesajı atlandı: {}", payload);
+        }
+    }
+
+    private void deliver(InvalidationMessage message) {
+        for (Consumer<InvalidationMessage> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.error("Invalidation mesajı işlenemedi: {}", message, e);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Kapanışta bağlantı hatası önemsiz
+        }
+    }
+}
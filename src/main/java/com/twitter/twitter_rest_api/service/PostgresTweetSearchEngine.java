@@ -0,0 +1,119 @@
+package com.twitter.twitter_rest_api.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Postgres tam metin araması. tweets.search_vector içerikten üretilen (GENERATED ... STORED) bir
+// tsvector kolonudur; Postgres her INSERT/UPDATE'te kendisi günceller, uygulama yazma yolunda bir şey yapmaz.
+// GIN indeksi @@ eşleşmesini indeksten okur, sonuçlar ts_rank'e göre sıralanır.
+// İndeks tek bir yerde tutulduğu için tüm node'lar aynı sonucu görür, açılışta kurulum gerekmez.
+// Kolon ve indeks geçişte bir kere, tek node'da kurulur (migrate); diğer açılışlar sadece kolonu kontrol eder
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres")
+@DependsOn("entityManagerFactory")
+public class PostgresTweetSearchEngine implements TweetSearchEngine {
+    private static final String FILTER = """
+            AND t.is_deleted = false
+            AND t.tweet_type <> 'RETWEET'
+            """;
+    private static final String COLUMN_EXISTS_SQL = """
+            SELECT COUNT(*)
+            FROM information_schema.columns
+            WHERE table_schema = 'twitterapi'
+            AND table_name = 'tweets'
+            AND column_name = 'search_vector'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String textSearchConfig;
+    private final boolean migrateOnStartup;
+    private final String searchSql;
+    private final String countSql;
+
+    public PostgresTweetSearchEngine(JdbcTemplate jdbcTemplate,
+                                     @Value("${app.search.postgres.text-search-config:simple}") String textSearchConfig,
+                                     @Value("${app.search.postgres.migrate-on-startup:false}") boolean migrateOnStartup) {
+        // Üretilen kolonun ifadesinde regconfig sabit olmak zorunda, sorguya doğrudan yazılır
+        if (!textSearchConfig.matches("[a-z_]+")) {
+            throw new IllegalArgumentException("Geçersiz text search config: " + textSearchConfig);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.textSearchConfig = textSearchConfig;
+        this.migrateOnStartup = migrateOnStartup;
+        this.searchSql = """
+                SELECT t.id
+                FROM twitterapi.tweets t, plainto_tsquery('%s', ?) q
+                WHERE t.search_vector @@ q
+                """.formatted(textSearchConfig) + FILTER + """
+                ORDER BY ts_rank(t.search_vector, q) DESC, t.id DESC
+                LIMIT ? OFFSET ?
+                """;
+        this.countSql = """
+                SELECT COUNT(*)
+                FROM twitterapi.tweets t
+                WHERE t.search_vector @@ plainto_tsquery('%s', ?)
+                """.formatted(textSearchConfig) + FILTER;
+    }
+
+    // Kolon entity'de yok, ddl-auto dokunmaz. Eksikse her aramada SQL hatası almak yerine açılış durdurulur
+    @PostConstruct
+    void verifySchema() {
+        if (migrateOnStartup) {
+            return;
+        }
+        Long columns = jdbcTemplate.queryForObject(COLUMN_EXISTS_SQL, Long.class);
+        if (columns == null || columns == 0) {
+            throw new IllegalStateException("twitterapi.tweets.search_vector kolonu yok; geçiş için tek bir node'u "
+                    + "app.search.postgres.migrate-on-startup=true ile bir kere başlatın");
+        }
+    }
+
+    // Bean yaşam döngüsü dışında, uygulama hazır olduktan sonra çalışır
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateIfEnabled() {
+        if (migrateOnStartup) {
+            migrate();
+        }
+    }
+
+    // Kolonun eklenmesi tabloyu yeniden yazar ve bu sürede yazmaları bekletir; düşük trafikli bir zamanda
+    // yapılmalıdır. İndeks CONCURRENTLY kurulduğu için yazmaları kilitlemez; transaction dışında çalışmalıdır.
+    // Yarıda kalan bir kurulum geçersiz (INVALID) indeks bırakırsa elle silinip tekrar çalıştırılmalıdır.
+    // Config sonradan değiştirilirse kolonun elle silinip yeniden oluşturulması gerekir
+    public void migrate() {
+        long started = System.nanoTime();
+        jdbcTemplate.execute("""
+                ALTER TABLE twitterapi.tweets ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (to_tsvector('%s', coalesce(content, ''))) STORED
+                """.formatted(textSearchConfig));
+        jdbcTemplate.execute("""
+                CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tweets_search_vector
+                ON twitterapi.tweets USING GIN (search_vector)
+                """);
+        log.info("search_vector kolonu ve GIN indeksi hazır: {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public SearchHits search(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            return SearchHits.EMPTY;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(searchSql, Long.class, query, limit, offset);
+        // İlk sayfa dolmadıysa toplam zaten belli, COUNT çalıştırılmaz
+        if (offset == 0 && ids.size() < limit) {
+            return new SearchHits(ids, ids.size());
+        }
+        Long total = jdbcTemplate.queryForObject(countSql, Long.class, query);
+        return new SearchHits(ids, total == null ? 0 : total);
+    }
+}
@@ -5,38 +5,39 @@ import com.twitter.twitter_rest_api.dto.UserResponse;
 import com.twitter.twitter_rest_api.entity.User;
 import com.twitter.twitter_rest_api.exceptions.ApiException;
 import com.twitter.twitter_rest_api.security.JwtUtils;
+import com.twitter.twitter_rest_api.security.TokenRevocationStore;
+import com.twitter.twitter_rest_api.security.VerifiedToken;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
-import java.util.Set;
-
 @Slf4j
 @Service
 public class RefreshTokenService {
-    private final Set<String> blacklistedTokens = new HashSet<>();
     private final JwtUtils jwtUtils;
     private final UserService userService;
+    private final TokenRevocationStore revocationStore;
 
-    public RefreshTokenService(JwtUtils jwtUtils, UserService userService) {
+    public RefreshTokenService(JwtUtils jwtUtils, UserService userService, TokenRevocationStore revocationStore) {
         this.jwtUtils = jwtUtils;
         this.userService = userService;
+        this.revocationStore = revocationStore;
     }
     public AuthResponse refreshToken(String refreshToken){
-        if(isTokeBlackListed(refreshToken)){
-            throw new ApiException("Invalid refresh token", HttpStatus.UNAUTHORIZED);
-        }
-        if (!jwtUtils.validateJwtToken(refreshToken) || !jwtUtils.isRefreshToken(refreshToken)) {
+        // İmza, süre ve tip tek parse ile kontrol edilir
+        VerifiedToken verified = jwtUtils.verify(refreshToken)
+                .filter(VerifiedToken::isRefreshToken)
+                .orElseThrow(() -> new ApiException("Invalid refresh token", HttpStatus.UNAUTHORIZED));
+
+        // Eski refresh token'ı iptal et; daha önce iptal edildiyse (logout ya da aynı token ile
+        // eşzamanlı ikinci refresh) yeni token üretilmez
+        if (!revocationStore.revoke(verified.jti(), verified.expiresAt())) {
             throw new ApiException("Invalid refresh token", HttpStatus.UNAUTHORIZED);
         }
-        String username = jwtUtils.getUserNameFromJwtToken(refreshToken);
+        String username = verified.subject();
         User user = (User) userService.loadUserByUsername(username);
 
-        // Eski refresh token'ı blacklist'e ekle
-        blacklistToken(refreshToken);
-
         // Yeni tokenları oluştur
         String newAccessToken = jwtUtils.generateAccessToken(user);
         String newRefreshToken = jwtUtils.generateRefreshToken(user);
@@ -44,32 +45,19 @@ public class RefreshTokenService {
         return new AuthResponse(
                 newAccessToken,
                 newRefreshToken,
-                convertToUserResponse(user)
+                UserResponse.from(user)
         );
     }
 
+    // Geçersiz ya da süresi dolmuş token zaten kullanılamayacağı için kaydedilmez
     public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
+        jwtUtils.verify(token)
+                .ifPresent(verified -> revocationStore.revoke(verified.jti(), verified.expiresAt()));
     }
 
     public boolean isTokeBlackListed(String token) {
-        return blacklistedTokens.contains(token);
-    }
-    private UserResponse convertToUserResponse(com.twitter.twitter_rest_api.entity.User user) {
-        return new UserResponse(
-                user.getId(),
-                user.getFullName(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getBio(),
-                user.getProfileImage(),
-                user.getHeaderImage(),
-                user.getFollowersCount(),
-                user.getFollowingCount(),
-                user.getTweetsCount(),
-                user.getVerified(),
-                user.getPrivateAccount(),
-                user.getCreatedAt()
-        );
+        return jwtUtils.verify(token)
+                .map(verified -> revocationStore.isRevoked(verified.jti()))
+                .orElse(false);
     }
 }
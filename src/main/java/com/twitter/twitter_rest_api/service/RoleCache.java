@@ -0,0 +1,50 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.entity.Role;
+import com.twitter.twitter_rest_api.exceptions.ApiException;
+import com.twitter.twitter_rest_api.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Roller uygulama açılırken bir kere oluşturulur/okunur ve değişmez bir map'te tutulur;
+// kayıt sırasında rol için veritabanına gidilmez
+@Slf4j
+@Component
+public class RoleCache {
+    private static final List<String> DEFAULT_ROLES = List.of("USER", "ADMIN");
+
+    private final RoleRepository roleRepository;
+    private volatile Map<String, Role> rolesByAuthority = Map.of();
+
+    public RoleCache(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @PostConstruct
+    void seed() {
+        Map<String, Role> roles = new HashMap<>();
+        for (String authority : DEFAULT_ROLES) {
+            Role role = roleRepository.findByAuthority(authority)
+                    .orElseGet(() -> {
+                        log.info("Created role: {}", authority);
+                        return roleRepository.save(new Role(0, authority));
+                    });
+            roles.put(authority, role);
+        }
+        this.rolesByAuthority = Map.copyOf(roles);
+    }
+
+    public Role get(String authority) {
+        Role role = rolesByAuthority.get(authority);
+        if (role == null) {
+            throw new ApiException("Role not found: " + authority, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        return role;
+    }
+}
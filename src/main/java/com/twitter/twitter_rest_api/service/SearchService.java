@@ -1,17 +1,24 @@
 // SearchService.java
 package com.twitter.twitter_rest_api.service;
 
+import com.twitter.twitter_rest_api.dto.CursorSlice;
+import com.twitter.twitter_rest_api.dto.TweetCursor;
 import com.twitter.twitter_rest_api.dto.TweetResponse;
+import com.twitter.twitter_rest_api.dto.UserResponse;
 import com.twitter.twitter_rest_api.entity.Tweet;
 import com.twitter.twitter_rest_api.entity.User;
 import com.twitter.twitter_rest_api.exceptions.ApiException;
 import com.twitter.twitter_rest_api.mapper.TweetMapper;
+import com.twitter.twitter_rest_api.repository.TweetHashtagRepository;
 import com.twitter.twitter_rest_api.repository.TweetRepository;
 import com.twitter.twitter_rest_api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,15 +26,22 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class SearchService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TweetRepository tweetRepository;
+    private final TweetHashtagRepository tweetHashtagRepository;
     private final UserRepository userRepository;
     private final TweetMapper tweetMapper;
+    private final TweetSearchEngine tweetSearchEngine;
 
     public Map<String, Object> search(String query, Pageable pageable, String username) {
 
@@ -40,12 +54,16 @@ public class SearchService {
                 .orElseGet(() -> userRepository.findByEmail(username)
                         .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı: " + username, HttpStatus.NOT_FOUND)));
 
-        // Tweet araması
-        Page<TweetResponse> tweets = tweetRepository.searchTweets(query.trim(), pageable)
-                .map(tweet -> tweetMapper.toTweetResponse(tweet, currentUser));
+        // Tweet araması: motordan sayfadaki id'ler gelir, sadece onlar yüklenir
+        TweetSearchEngine.SearchHits hits = tweetSearchEngine.search(
+                query.trim(), (int) pageable.getOffset(), pageable.getPageSize());
+        Page<TweetResponse> tweets = new PageImpl<>(
+                tweetMapper.toTweetResponses(loadInOrder(hits.tweetIds()), currentUser), pageable, hits.total());
 
-        // Kullanıcı araması
-        List<User> users = userRepository.searchUsers(query.trim());
+        // Kullanıcı araması; entity yerine yanıt DTO'su döner (şifre hash'i gibi alanlar serileşmesin)
+        List<UserResponse> users = userRepository.searchUsers(query.trim()).stream()
+                .map(UserResponse::from)
+                .toList();
 
         Map<String, Object> result = new HashMap<>();
         result.put("tweets", tweets);
@@ -54,9 +72,28 @@ public class SearchService {
         return result;
     }
 
-    public Page<TweetResponse> findByHashtag(String hashtag, Pageable pageable, String username) {
-        if (hashtag == null || hashtag.trim().isEmpty()) {
-            throw new ApiException("Hashtag boş olamaz", HttpStatus.BAD_REQUEST);
+    // findAllWithUserByIdIn sırayı korumaz; motorun döndürdüğü sıraya göre dizilir
+    private List<Tweet> loadInOrder(List<Long> tweetIds) {
+        if (tweetIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Tweet> tweetsById = tweetRepository.findAllWithUserByIdIn(tweetIds).stream()
+                .filter(tweet -> !tweet.isDeleted())
+                .collect(Collectors.toMap(Tweet::getId, Function.identity()));
+        return tweetIds.stream()
+                .map(tweetsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // tweet_hashtags indeksinden (createdAt, id) cursor'ı ile aralık okuması; COUNT ve OFFSET yok
+    public CursorSlice<TweetResponse> findByHashtag(String hashtag, String cursor, int size, String username) {
+        String tag = SearchTokenizer.normalizeHashtag(hashtag);
+        if (tag == null) {
+            throw new ApiException("Geçersiz hashtag: " + hashtag, HttpStatus.BAD_REQUEST);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ApiException("Sayfa boyutu 1-" + MAX_PAGE_SIZE + " arasında olmalıdır", HttpStatus.BAD_REQUEST);
         }
 
         // Önce email ile deneyelim, bulamazsa username ile arayalım
@@ -64,7 +101,23 @@ public class SearchService {
                 .orElseGet(() -> userRepository.findByEmail(username)
                         .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı: " + username, HttpStatus.NOT_FOUND)));
 
-        return tweetRepository.findByHashtag(hashtag.trim(), pageable)
-                .map(tweet -> tweetMapper.toTweetResponse(tweet, currentUser));
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<TweetCursor> entries;
+        if (cursor == null || cursor.isBlank()) {
+            entries = tweetHashtagRepository.findCursorsByTag(tag, pageable);
+        } else {
+            TweetCursor after = TweetCursor.decode(cursor);
+            entries = tweetHashtagRepository.findCursorsByTagBefore(tag, after.createdAt(), after.id(), pageable);
+        }
+
+        List<TweetCursor> page = entries.getContent();
+        List<Tweet> tweets = loadInOrder(page.stream().map(TweetCursor::id).toList());
+        String nextCursor = entries.hasNext() && !page.isEmpty() ? page.get(page.size() - 1).encode() : null;
+        return new CursorSlice<>(
+                tweetMapper.toTweetResponses(tweets, currentUser),
+                entries.getSize(),
+                entries.hasNext(),
+                nextCursor
+        );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.twitter.twitter_rest_api.service;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Arama için metni terimlere ayırır. Büyük/küçük harf ve Türkçe karakterler katlanır
+// ("Şükrü" -> "sukru", "IŞIK" -> "isik"); böylece indeks ve sorgu aynı biçimde karşılaştırılır
+public final class SearchTokenizer {
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}_]+");
+    // Önünde harf/rakam olmayan # ile başlar ("a#b" ve "##" etiket değildir)
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_#])#([\\p{L}\\p{N}_]+)");
+    private static final Pattern HAS_LETTER = Pattern.compile(".*\\p{L}.*");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    // Çok uzun "kelimeler" (link, base64 vb.) indeksi şişirmesin
+    private static final int MAX_TERM_LENGTH = 40;
+    // tweet_hashtags.tag kolon uzunluğu
+    public static final int MAX_HASHTAG_LENGTH = 100;
+
+    private SearchTokenizer() {
+    }
+
+    // Tekrarsız terimler, metindeki sırasıyla
+    public static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String term : SEPARATORS.split(fold(text))) {
+            if (!term.isEmpty() && term.length() <= MAX_TERM_LENGTH) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Metindeki hashtagler katlanmış ve '#' olmadan; sadece rakamdan oluşanlar (#2024) etiket sayılmaz
+    public static Set<String> hashtags(String text) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (text == null || text.indexOf('#') < 0) {
+            return tags;
+        }
+        Matcher matcher = HASHTAG.matcher(text);
+        while (matcher.find()) {
+            String tag = normalizeHashtag(matcher.group(1));
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    // Kullanıcının aradığı etiketi indeksteki biçime getirir; geçersizse null
+    public static String normalizeHashtag(String hashtag) {
+        if (hashtag == null) {
+            return null;
+        }
+        String tag = fold(hashtag.strip());
+        if (tag.startsWith("#")) {
+            tag = tag.substring(1);
+        }
+        if (tag.isEmpty() || tag.length() > MAX_HASHTAG_LENGTH
+                || SEPARATORS.matcher(tag).find() || !HAS_LETTER.matcher(tag).matches()) {
+            return null;
+        }
+        return tag;
+    }
+
+    public static String fold(String text) {
+        // İ küçültülünce i + nokta işaretine dönüşür, işaretler aşağıda atılır; ı ayrı bir harf olduğu için elle çevrilir
+        String lower = Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replace('ı', 'i');
+        return COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+}
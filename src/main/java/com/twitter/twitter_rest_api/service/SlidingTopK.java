@@ -0,0 +1,132 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.dto.TrendResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Kayan pencerede en sık görülen anahtarlar. Pencere halka şeklinde kovalara bölünür, her kova
+// kendi Count-Min Sketch'ini tutar; süresi dolan kova sıfırlanıp yeniden kullanılır, bellek sabittir.
+// Skor kova tahminlerinin yaşa göre azalan ağırlıklı toplamıdır (decay^yaş), böylece yeni artışlar öne çıkar.
+// Aday anahtarlar en küçük skorlu başta olacak şekilde sınırlı bir min-heap'te tutulur.
+// Thread-safe değildir; çağıran senkronize eder
+final class SlidingTopK {
+    private final long bucketMillis;
+    private final CountMinSketch[] buckets;
+    // Her slotta hangi kovanın (zaman / kova süresi) sayaçları var; -1 boş
+    private final long[] bucketIds;
+    private final double[] weights;
+    private final int capacity;
+    private final Map<String, Candidate> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingDouble(c -> c.score));
+
+    SlidingTopK(long bucketMillis, int bucketCount, int depth, int width, double decay, int capacity) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = new CountMinSketch[bucketCount];
+        this.bucketIds = new long[bucketCount];
+        this.weights = new double[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new CountMinSketch(depth, width);
+            weights[i] = Math.pow(decay, i);
+        }
+        Arrays.fill(bucketIds, -1);
+        this.capacity = capacity;
+    }
+
+    void add(String key, long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        int slot = (int) (current % buckets.length);
+        if (bucketIds[slot] != current) {
+            buckets[slot].clear();
+            bucketIds[slot] = current;
+        }
+        int[] indexes = CountMinSketch.indexes(key, buckets[slot].depth(), buckets[slot].width());
+        buckets[slot].add(indexes);
+        double score = score(indexes, current);
+
+        Candidate candidate = candidates.get(key);
+        if (candidate != null) {
+            // Heap elemanı yerinde güncellenemez; çıkarılıp yeni skorla eklenir (aday sayısı küçük, O(capacity))
+            heap.remove(candidate);
+            candidate.score = score;
+            heap.add(candidate);
+            return;
+        }
+        if (candidates.size() >= capacity) {
+            if (heap.peek().score >= score) {
+                return;
+            }
+            candidates.remove(heap.poll().key);
+        }
+        candidate = new Candidate(key, indexes, score);
+        candidates.put(key, candidate);
+        heap.add(candidate);
+    }
+
+    // Zaman ilerledikçe aday skorları eskir; hepsi yeniden hesaplanır, penceresi boşalanlar atılır
+    // ve en yüksek limit aday azalan sırayla döner
+    List<TrendResponse> top(int limit, long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        heap.clear();
+        Iterator<Candidate> iterator = candidates.values().iterator();
+        while (iterator.hasNext()) {
+            Candidate candidate = iterator.next();
+            candidate.score = score(candidate.indexes, current);
+            candidate.count = count(candidate.indexes, current);
+            if (candidate.count == 0) {
+                iterator.remove();
+            } else {
+                heap.add(candidate);
+            }
+        }
+        List<Candidate> sorted = new ArrayList<>(candidates.values());
+        sorted.sort(Comparator.comparingDouble((Candidate c) -> c.score).reversed()
+                .thenComparing(c -> c.key));
+        List<TrendResponse> top = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (int i = 0; i < sorted.size() && i < limit; i++) {
+            top.add(new TrendResponse(sorted.get(i).key, sorted.get(i).count));
+        }
+        return top;
+    }
+
+    private double score(int[] indexes, long current) {
+        double score = 0;
+        for (int slot = 0; slot < buckets.length; slot++) {
+            long age = current - bucketIds[slot];
+            if (bucketIds[slot] >= 0 && age >= 0 && age < buckets.length) {
+                score += weights[(int) age] * buckets[slot].estimate(indexes);
+            }
+        }
+        return score;
+    }
+
+    private long count(int[] indexes, long current) {
+        long count = 0;
+        for (int slot = 0; slot < buckets.length; slot++) {
+            long age = current - bucketIds[slot];
+            if (bucketIds[slot] >= 0 && age >= 0 && age < buckets.length) {
+                count += buckets[slot].estimate(indexes);
+            }
+        }
+        return count;
+    }
+
+    private static final class Candidate {
+        private final String key;
+        private final int[] indexes;
+        private double score;
+        private long count;
+
+        Candidate(String key, int[] indexes, double score) {
+            this.key = key;
+            this.indexes = indexes;
+            this.score = score;
+        }
+    }
+}
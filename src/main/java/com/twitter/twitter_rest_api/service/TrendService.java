@@ -0,0 +1,46 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.dto.TrendResponse;
+import com.twitter.twitter_rest_api.exceptions.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface TrendService {
+    // Pencerenin en popüler hashtagleri, skora göre azalan. Hazır listeden okunur, sorgu çalışmaz
+    List<TrendResponse> getTrends(Window window, int limit);
+
+    // Pencere, eşit süreli kovalara bölünür; en eski kova süresi dolunca yenisiyle değiştirilir
+    enum Window {
+        HOUR("1h", Duration.ofMinutes(5), 12),
+        DAY("24h", Duration.ofHours(1), 24);
+
+        private final String label;
+        private final Duration bucketDuration;
+        private final int bucketCount;
+
+        Window(String label, Duration bucketDuration, int bucketCount) {
+            this.label = label;
+            this.bucketDuration = bucketDuration;
+            this.bucketCount = bucketCount;
+        }
+
+        public Duration bucketDuration() {
+            return bucketDuration;
+        }
+
+        public int bucketCount() {
+            return bucketCount;
+        }
+
+        public static Window fromLabel(String label) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(label)) {
+                    return window;
+                }
+            }
+            throw new ApiException("Geçersiz pencere: " + label + " (1h veya 24h olmalıdır)", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
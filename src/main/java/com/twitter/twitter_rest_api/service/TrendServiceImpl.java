@@ -0,0 +1,87 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.dto.TrendResponse;
+import com.twitter.twitter_rest_api.entity.TweetType;
+import com.twitter.twitter_rest_api.event.TweetCreatedEvent;
+import com.twitter.twitter_rest_api.exceptions.ApiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Gündem, tweets tablosunda GROUP BY yerine tweet oluşturma event'lerinden akan hashtaglerle
+// bellekte tutulur. Okuma zamanlanmış görevin hazırladığı listeden yapılır (O(k)).
+// Her node kendi oluşturduğu tweetleri sayar; yük node'lara dengeli dağıldığında sıralama temsilidir
+@Service
+public class TrendServiceImpl implements TrendService {
+    private final int topK;
+    private final Map<Window, SlidingTopK> windows = new EnumMap<>(Window.class);
+    private final Map<Window, List<TrendResponse>> snapshots = new EnumMap<>(Window.class);
+
+    public TrendServiceImpl(@Value("${app.trends.top-k:20}") int topK,
+                            @Value("${app.trends.sketch-depth:4}") int sketchDepth,
+                            @Value("${app.trends.sketch-width:2048}") int sketchWidth,
+                            @Value("${app.trends.bucket-decay:0.9}") double bucketDecay) {
+        this.topK = topK;
+        for (Window window : Window.values()) {
+            // Heap k'dan geniş tutulur ki sınırdaki etiketler ilk düşüşte kaybolmasın
+            windows.put(window, new SlidingTopK(window.bucketDuration().toMillis(), window.bucketCount(),
+                    sketchDepth, sketchWidth, bucketDecay, topK * 4));
+            snapshots.put(window, List.of());
+        }
+    }
+
+    @Override
+    public List<TrendResponse> getTrends(Window window, int limit) {
+        if (limit < 1 || limit > topK) {
+            throw new ApiException("Limit 1-" + topK + " arasında olmalıdır", HttpStatus.BAD_REQUEST);
+        }
+        List<TrendResponse> trends;
+        synchronized (snapshots) {
+            trends = snapshots.get(window);
+        }
+        return trends.size() <= limit ? trends : trends.subList(0, limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetCreated(TweetCreatedEvent event) {
+        // Retweet orijinal içeriği tekrarlar, etiket ikinci kez sayılmaz
+        if (event.tweetType() == TweetType.RETWEET) {
+            return;
+        }
+        Set<String> tags = SearchTokenizer.hashtags(event.content());
+        if (tags.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (SlidingTopK window : windows.values()) {
+            synchronized (window) {
+                for (String tag : tags) {
+                    window.add(tag, now);
+                }
+            }
+        }
+    }
+
+    // Yaşlanan skorlar yeniden hesaplanır ve okunacak liste değiştirilir
+    @Scheduled(fixedDelayString = "${app.trends.refresh-interval-ms:5000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Window, SlidingTopK> entry : windows.entrySet()) {
+            List<TrendResponse> trends;
+            synchronized (entry.getValue()) {
+                trends = List.copyOf(entry.getValue().top(topK, now));
+            }
+            synchronized (snapshots) {
+                snapshots.put(entry.getKey(), trends);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.entity.Tweet;
+import com.twitter.twitter_rest_api.entity.TweetHashtag;
+import com.twitter.twitter_rest_api.entity.TweetType;
+import com.twitter.twitter_rest_api.repository.TweetHashtagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// tweet_hashtags tablosunu tweet yazma yolunda, aynı transaction içinde günceller.
+// Retweetler orijinalin içeriğini tekrarladığı, silinen tweetler aramada görünmediği için tabloda yer almaz
+@Slf4j
+@Service
+public class TweetHashtagService {
+    private static final String BACKFILL_SELECT_SQL = """
+            SELECT t.id, t.content
+            FROM twitterapi.tweets t
+            WHERE t.id > ?
+            AND t.is_deleted = false
+            AND t.tweet_type <> 'RETWEET'
+            ORDER BY t.id
+            LIMIT ?
+            """;
+    // Var olan satırlar atlanır; okunduktan sonra silinen ya da düzenlenen tweetlere eski etiket yazılmaz
+    private static final String BACKFILL_INSERT_SQL = """
+            INSERT INTO twitterapi.tweet_hashtags (tag, tweet_id, created_at)
+            SELECT ?, t.id, t.created_at
+            FROM twitterapi.tweets t
+            WHERE t.id = ?
+            AND t.is_deleted = false
+            AND t.content = ?
+            ON CONFLICT (tweet_id, tag) DO NOTHING
+            """;
+
+    private final TweetHashtagRepository tweetHashtagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean backfillOnStartup;
+    private final int backfillBatchSize;
+
+    public TweetHashtagService(TweetHashtagRepository tweetHashtagRepository,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${app.tweets.backfill-hashtags-on-startup:false}") boolean backfillOnStartup,
+                               @Value("${app.tweets.backfill-hashtags-batch-size:5000}") int backfillBatchSize) {
+        this.tweetHashtagRepository = tweetHashtagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.backfillOnStartup = backfillOnStartup;
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    // Yeni tweet: etiketsiz tweetlerde hiç sorgu çalışmaz
+    @Transactional
+    public void index(Tweet tweet) {
+        if (tweet.getTweetType() == TweetType.RETWEET) {
+            return;
+        }
+        Set<String> tags = SearchTokenizer.hashtags(tweet.getContent());
+        if (!tags.isEmpty()) {
+            tweetHashtagRepository.saveAll(toRows(tweet, tags));
+        }
+    }
+
+    // Düzenleme: sadece değişen etiketler silinir/eklenir
+    @Transactional
+    public void reindex(Tweet tweet) {
+        if (tweet.getTweetType() == TweetType.RETWEET || tweet.isDeleted()) {
+            return;
+        }
+        Set<String> tags = SearchTokenizer.hashtags(tweet.getContent());
+        List<TweetHashtag> existing = tweetHashtagRepository.findByTweetId(tweet.getId());
+        List<TweetHashtag> removed = new ArrayList<>();
+        for (TweetHashtag row : existing) {
+            if (!tags.remove(row.getTag())) {
+                removed.add(row);
+            }
+        }
+        tweetHashtagRepository.deleteAll(removed);
+        tweetHashtagRepository.saveAll(toRows(tweet, tags));
+    }
+
+    @Transactional
+    public void remove(Long tweetId) {
+        tweetHashtagRepository.deleteByTweetId(tweetId);
+    }
+
+    private static List<TweetHashtag> toRows(Tweet tweet, Set<String> tags) {
+        List<TweetHashtag> rows = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            rows.add(new TweetHashtag(null, tag, tweet, tweet.getCreatedAt()));
+        }
+        return rows;
+    }
+
+    // Tablo eklenmeden önce yazılmış tweetler için; geçişte bir kere açılması yeterli.
+    // Silinmemiş tweetler id sırasıyla parça parça ayrıştırılıp eksik etiketler eklenir. Tablo boşaltılmadığı için
+    // tekrar çalıştırmak güvenlidir ve aynı anda gelen tweet yazmalarının eklediği satırlar kaybolmaz
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEnabled() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    public int backfill() {
+        long lastId = 0;
+        int inserted = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(BACKFILL_SELECT_SQL,
+                    (rs, rowNum) -> new Object[]{rs.getLong("id"), rs.getString("content")},
+                    lastId, backfillBatchSize);
+            List<Object[]> batch = new ArrayList<>();
+            for (Object[] row : rows) {
+                for (String tag : SearchTokenizer.hashtags((String) row[1])) {
+                    batch.add(new Object[]{tag, row[0], row[1]});
+                }
+            }
+            if (!batch.isEmpty()) {
+                for (int count : jdbcTemplate.batchUpdate(BACKFILL_INSERT_SQL, batch)) {
+                    // Sürücü sayıyı bildirmezse (SUCCESS_NO_INFO) negatif döner
+                    inserted += Math.max(count, 0);
+                }
+            }
+            if (rows.size() < backfillBatchSize) {
+                break;
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        log.info("tweet_hashtags dolduruldu: {} eksik etiket eklendi", inserted);
+        return inserted;
+    }
+}
@@ -0,0 +1,15 @@
+package com.twitter.twitter_rest_api.service;
+
+import java.util.List;
+
+// Tweet içerik araması; app.search.engine ile seçilir: inverted-index (bellek içi, varsayılan),
+// postgres (tsvector + GIN) ya da like (indekssiz yedek). Silinmiş tweetler ve retweetler sonuçta yer almaz
+public interface TweetSearchEngine {
+    // Eşleşen tweetlerin istenen sayfadaki id'leri ve toplam eşleşme sayısı. Sıra motora göre değişir:
+    // bellek içi indeks ve LIKE en yeniden eskiye, postgres ts_rank'e göre
+    SearchHits search(String query, int offset, int limit);
+
+    record SearchHits(List<Long> tweetIds, long total) {
+        public static final SearchHits EMPTY = new SearchHits(List.of(), 0);
+    }
+}
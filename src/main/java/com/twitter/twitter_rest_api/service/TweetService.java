@@ -13,16 +13,32 @@ import java.util.List;
 import java.util.Optional;
 
 public interface TweetService {
-    Page<TweetResponse> findAll(Pageable pageable, String userEmail);
-    TweetDetailResponse findById(Long id, String userEmail);
-    TweetDetailResponse update(Long id, Tweet tweet, String userEmail);
-    TweetDetailResponse delete(Long id, String userEmail);
-    TweetDetailResponse createTweet(String content, MultipartFile media, String username);
-    TweetDetailResponse replyToTweet(Long tweetId, String content, MultipartFile media, String username);
-    TweetDetailResponse retweet(RetweetRequest retweetRequest, String username);
-    TweetDetailResponse quoteTweet(Long tweetId,String content, MultipartFile media, String username);
-    Page<TweetResponse> findByUserId(Long userID,Pageable pageable);
+    Page<TweetResponse> findAll(Pageable pageable, Long currentUserId);
+    Page<TweetResponse> findHomeTimeline(Pageable pageable, Long currentUserId);
+    // Takip edilen yazarların son tweetleri bellekteki yazar tamponlarından birleştirilir
+    CursorSlice<TweetResponse> findFollowingTimeline(String cursor, int size, Long currentUserId);
+    TweetDetailResponse findById(Long id, Long currentUserId);
+    TweetDetailResponse update(Long id, Tweet tweet, Long currentUserId);
+    TweetDetailResponse delete(Long id, Long currentUserId);
+    TweetDetailResponse createTweet(String content, MultipartFile media, Long currentUserId);
+    TweetDetailResponse replyToTweet(Long tweetId, String content, MultipartFile media, Long currentUserId);
+    TweetDetailResponse retweet(RetweetRequest retweetRequest, Long currentUserId);
+    TweetDetailResponse quoteTweet(Long tweetId,String content, MultipartFile media, Long currentUserId);
+    Page<TweetResponse> findByUserId(Long userID,Pageable pageable, Long currentUserId);
 
-    Page<TweetResponse> findRepliesByTweetId(Long tweetId, Pageable pageable, String username);
+    Page<TweetResponse> findRepliesByTweetId(Long tweetId, Pageable pageable, Long currentUserId);
+
+    // Keyset (cursor) sayfalama, COUNT sorgusu çalıştırmaz. cursor null ise ilk sayfa döner
+    CursorSlice<TweetResponse> findAllByCursor(String cursor, int size, Long currentUserId);
+    CursorSlice<TweetResponse> findByUserIdByCursor(Long userId, String cursor, int size, Long currentUserId);
+    CursorSlice<TweetResponse> findRepliesByCursor(Long tweetId, String cursor, int size, Long currentUserId);
+    // Yanıtları seviye seviye yükleyip iç içe ağaç olarak döner
+    ReplyTreeNode findReplyTree(Long tweetId, int depth, int fanout, Long currentUserId);
+
+    // Koşullu GET için ETag'ler; yanıtlar ucuz sürüm sorgusundan hesaplanır, tweet bulunamazsa boş döner
+    // ve asıl istek 404 üretir. Detay etiketi findById'nin döndürdüğü gövdenin sürüm alanlarından hesaplanır
+    String detailTag(TweetDetailResponse detail);
+    Optional<String> findRepliesTag(Long tweetId, Pageable pageable, Long currentUserId);
+    Optional<String> findRepliesByCursorTag(Long tweetId, String cursor, int size, Long currentUserId);
 
 }
@@ -2,65 +2,303 @@ package com.twitter.twitter_rest_api.service;
 
 import com.twitter.twitter_rest_api.dto.*;
 import com.twitter.twitter_rest_api.entity.*;
+import com.twitter.twitter_rest_api.event.TweetCreatedEvent;
+import com.twitter.twitter_rest_api.event.TweetDeletedEvent;
+import com.twitter.twitter_rest_api.event.TweetUpdatedEvent;
 import com.twitter.twitter_rest_api.exceptions.ApiException;
+import com.twitter.twitter_rest_api.mapper.TweetCoreCache;
 import com.twitter.twitter_rest_api.mapper.TweetMapper;
 import com.twitter.twitter_rest_api.repository.TweetLikeRepository;
 import com.twitter.twitter_rest_api.repository.TweetRepository;
+import com.twitter.twitter_rest_api.repository.TweetRepository.TweetVersion;
 import com.twitter.twitter_rest_api.repository.UserRepository;
 import com.twitter.twitter_rest_api.validations.TweetValidations;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 @Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor //Contructor injection için
 public class TweetServiceImpl implements TweetService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_REPLY_TREE_DEPTH = 10;
+    private static final int MAX_REPLY_TREE_FANOUT = 50;
+    private static final int MAX_REPLY_TREE_NODES = 500;
+
     private final TweetRepository tweetRepository;
     private final UserRepository userRepository;
     private final TweetLikeRepository tweetLikeRepository;
     private final TweetMapper tweetMapper;
     private final S3Service s3Service;
+    private final HomeTimelineService homeTimelineService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EngagementCounterService engagementCounterService;
+    private final TweetCoreCache tweetCoreCache;
+    private final AuthorTimelineIndex authorTimelineIndex;
+    private final ConversationThreadLoader conversationThreadLoader;
+    private final TweetHashtagService tweetHashtagService;
 
 
 
     @Override
-    public Page<TweetResponse> findAll(Pageable pageable, String userEmail) {
+    @Transactional(readOnly = true)
+    public Page<TweetResponse> findAll(Pageable pageable, Long currentUserId) {
         validateSortProperties(pageable.getSort());
 
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı!", HttpStatus.NOT_FOUND));
+        // Timeline projeksiyonla okunur, entity ve kullanıcı rolleri yüklenmez
+
+        return tweetMapper.toTweetResponsesFromStats(tweetRepository.findAllNonDeletedTweetStats(pageable), currentUserId);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TweetResponse> findHomeTimeline(Pageable pageable, Long currentUserId) {
+        User currentUser = currentUserReference(currentUserId);
+
+        // Timeline bellekte tutulduğu için sadece sayfadaki id'ler okunur
+        Page<Long> timelineIds = homeTimelineService.getTimelineIds(currentUser.getId(), pageable);
+        Map<Long, Tweet> tweetsById = tweetRepository.findAllWithUserByIdIn(timelineIds.getContent())
+                .stream()
+                .collect(Collectors.toMap(Tweet::getId, Function.identity()));
+
+        // Silinen ya da geri alınan retweetler timeline'da kalmış olabilir; atlanır ve toplam doğru kalsın
+        // diye bellekteki timeline'dan da çıkarılır
+        List<Tweet> tweets = new ArrayList<>();
+        List<Long> staleIds = new ArrayList<>();
+        for (Long tweetId : timelineIds.getContent()) {
+            Tweet tweet = tweetsById.get(tweetId);
+            if (tweet == null || tweet.isDeleted()) {
+                staleIds.add(tweetId);
+            } else {
+                tweets.add(tweet);
+            }
+        }
+        if (!staleIds.isEmpty()) {
+            homeTimelineService.remove(currentUser.getId(), staleIds);
+        }
+        return new PageImpl<>(tweetMapper.toTweetResponses(tweets, currentUser), pageable,
+                timelineIds.getTotalElements() - staleIds.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TweetResponse> findByUserId(Long userId, Pageable pageable, Long currentUserId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ApiException("Kullanıcı bulunamadı!", HttpStatus.NOT_FOUND);
+        }
+
+        Page<TweetWithStats> tweets = tweetRepository.findStatsByUserIdNonDeleted(userId, pageable);
+        return tweetMapper.toTweetResponsesFromStats(tweets, currentUserId);
+    }
 
-        return tweetRepository.findAllNonDeletedTweets(pageable)
-                .map(tweet -> tweetMapper.toTweetResponse(tweet,currentUser));
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<TweetResponse> findFollowingTimeline(String cursor, int size, Long currentUserId) {
+        Pageable pageable = cursorPageable(size);
+
+        TweetCursor before = cursor == null || cursor.isBlank() ? null : TweetCursor.decode(cursor);
+        // Bir fazlası sonraki sayfa olup olmadığını gösterir
+        List<TweetCursor> entries = authorTimelineIndex.followingTimeline(currentUserId, before, pageable.getPageSize() + 1);
+        boolean hasNext = entries.size() > pageable.getPageSize();
+        List<TweetCursor> page = hasNext ? entries.subList(0, pageable.getPageSize()) : entries;
+
+        Map<Long, TweetWithStats> tweetsById = tweetRepository.findStatsByIdIn(page.stream().map(TweetCursor::id).toList())
+                .stream()
+                .collect(Collectors.toMap(TweetWithStats::getId, Function.identity()));
+        List<TweetWithStats> tweets = page.stream()
+                .map(entry -> tweetsById.get(entry.id()))
+                .filter(Objects::nonNull)
+                .filter(tweet -> !tweet.isDeleted())
+                .toList();
+
+        String nextCursor = hasNext ? page.get(page.size() - 1).encode() : null;
+        return new CursorSlice<>(
+                tweetMapper.toTweetResponsesFromStats(tweets, currentUserId),
+                pageable.getPageSize(),
+                hasNext,
+                nextCursor
+        );
     }
+
     @Override
-    public Page<TweetResponse> findByUserId(Long userId, Pageable pageable) {
-        User targetUser = userRepository.findById(userId)
-                .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı!", HttpStatus.NOT_FOUND));
-
-        // Mevcut kullanıcıyı al
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String userEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı!", HttpStatus.NOT_FOUND));
-
-        Page<Tweet> tweets = tweetRepository.findByUserIdNonDeleted(userId, pageable);
-        return tweets.map(tweet -> tweetMapper.toTweetResponse(tweet, currentUser));
+    @Transactional(readOnly = true)
+    public CursorSlice<TweetResponse> findAllByCursor(String cursor, int size, Long currentUserId) {
+        Pageable pageable = cursorPageable(size);
+        User currentUser = currentUserReference(currentUserId);
+
+        Slice<Tweet> tweets;
+        if (cursor == null || cursor.isBlank()) {
+            tweets = tweetRepository.findNonDeletedTweetsSlice(pageable);
+        } else {
+            TweetCursor after = TweetCursor.decode(cursor);
+            tweets = tweetRepository.findNonDeletedTweetsBefore(after.createdAt(), after.id(), pageable);
+        }
+        return toCursorSlice(tweets, page -> tweetMapper.toTweetResponses(page, currentUser));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<TweetResponse> findByUserIdByCursor(Long userId, String cursor, int size, Long currentUserId) {
+        Pageable pageable = cursorPageable(size);
+        if (!userRepository.existsById(userId)) {
+            throw new ApiException("Kullanıcı bulunamadı!", HttpStatus.NOT_FOUND);
+        }
+        User currentUser = currentUserReference(currentUserId);
+
+        Slice<Tweet> tweets;
+        if (cursor == null || cursor.isBlank()) {
+            tweets = tweetRepository.findByUserIdNonDeletedSlice(userId, pageable);
+        } else {
+            TweetCursor after = TweetCursor.decode(cursor);
+            tweets = tweetRepository.findByUserIdNonDeletedBefore(userId, after.createdAt(), after.id(), pageable);
+        }
+        return toCursorSlice(tweets, page -> tweetMapper.toTweetResponses(page, currentUser));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<TweetResponse> findRepliesByCursor(Long tweetId, String cursor, int size, Long currentUserId) {
+        Pageable pageable = cursorPageable(size);
+        if (!tweetRepository.existsById(tweetId)) {
+            throw new ApiException("Tweet bulunamadı", HttpStatus.NOT_FOUND);
+        }
+        User currentUser = currentUserReference(currentUserId);
+
+        Slice<Tweet> replies;
+        if (cursor == null || cursor.isBlank()) {
+            replies = tweetRepository.findRepliesByTweetIdSlice(tweetId, pageable);
+        } else {
+            TweetCursor after = TweetCursor.decode(cursor);
+            replies = tweetRepository.findRepliesByTweetIdBefore(tweetId, after.createdAt(), after.id(), pageable);
+        }
+        return toCursorSlice(replies, page -> {
+            List<TweetResponse> responses = tweetMapper.toTweetResponses(page, currentUser);
+            responses.forEach(response -> response.setParentTweetID(tweetId));
+            return responses;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReplyTreeNode findReplyTree(Long tweetId, int depth, int fanout, Long currentUserId) {
+        if (depth < 1 || depth > MAX_REPLY_TREE_DEPTH) {
+            throw new ApiException("Derinlik 1-" + MAX_REPLY_TREE_DEPTH + " arasında olmalıdır", HttpStatus.BAD_REQUEST);
+        }
+        if (fanout < 1 || fanout > MAX_REPLY_TREE_FANOUT) {
+            throw new ApiException("Fanout 1-" + MAX_REPLY_TREE_FANOUT + " arasında olmalıdır", HttpStatus.BAD_REQUEST);
+        }
+        User currentUser = currentUserReference(currentUserId);
+        Tweet root = tweetRepository.findById(tweetId)
+                .orElseThrow(() -> new ApiException("Tweet bulunamadı", HttpStatus.NOT_FOUND));
+
+        // Her seviye için iki sorgu: fanout+1 yanıt id'si (fazlası "daha var" demek) ve tweetlerin kendisi
+        List<Tweet> allTweets = new ArrayList<>();
+        allTweets.add(root);
+        Map<Long, List<Tweet>> childrenByParent = new HashMap<>();
+        Set<Long> truncatedIds = new HashSet<>();
+        List<Tweet> level = List.of(root);
+        int remaining = MAX_REPLY_TREE_NODES;
+
+        for (int currentDepth = 0; currentDepth < depth && !level.isEmpty() && remaining > 0; currentDepth++) {
+            List<Long> parentIds = level.stream().map(Tweet::getId).toList();
+            List<Long> replyIds = tweetRepository.findReplyIdsByParentIdIn(parentIds, fanout + 1);
+            if (replyIds.isEmpty()) {
+                break;
+            }
+            Map<Long, List<Tweet>> repliesByParent = tweetRepository.findAllWithUserByIdIn(replyIds).stream()
+                    .sorted(Comparator.comparing(Tweet::getCreatedAt).thenComparing(Tweet::getId))
+                    .collect(Collectors.groupingBy(reply -> reply.getInReplyToTweet().getId()));
+
+            List<Tweet> nextLevel = new ArrayList<>();
+            for (Tweet parent : level) {
+                List<Tweet> replies = repliesByParent.getOrDefault(parent.getId(), List.of());
+                int limit = Math.min(Math.min(replies.size(), fanout), remaining);
+                if (replies.size() > limit) {
+                    truncatedIds.add(parent.getId());
+                }
+                if (limit > 0) {
+                    List<Tweet> kept = replies.subList(0, limit);
+                    childrenByParent.put(parent.getId(), kept);
+                    nextLevel.addAll(kept);
+                    remaining -= limit;
+                }
+            }
+            allTweets.addAll(nextLevel);
+            level = nextLevel;
+        }
+
+        // Derinlik sınırındaki tweetlerin yanıtları yüklenmedi
+        for (Tweet leaf : level) {
+            if (leaf != root && leaf.getReplyCount() != null && leaf.getReplyCount() > 0) {
+                truncatedIds.add(leaf.getId());
+            }
+        }
+
+        // Ağacın tamamı için beğeni/retweet durumu tek seferde çözülür
+        Map<Long, TweetResponse> responsesById = tweetMapper.toTweetResponses(allTweets, currentUser).stream()
+                .collect(Collectors.toMap(TweetResponse::getId, Function.identity(), (first, second) -> first));
+        return buildReplyTreeNode(root.getId(), responsesById, childrenByParent, truncatedIds);
+    }
+
+    private ReplyTreeNode buildReplyTreeNode(Long tweetId,
+                                             Map<Long, TweetResponse> responsesById,
+                                             Map<Long, List<Tweet>> childrenByParent,
+                                             Set<Long> truncatedIds) {
+        List<ReplyTreeNode> replies = childrenByParent.getOrDefault(tweetId, List.of()).stream()
+                .map(reply -> buildReplyTreeNode(reply.getId(), responsesById, childrenByParent, truncatedIds))
+                .toList();
+        return new ReplyTreeNode(responsesById.get(tweetId), truncatedIds.contains(tweetId), replies);
+    }
+
+    // Mapper görüntüleyenden sadece id'yi kullanır; proxy döndüğü için kullanıcı satırı okunmaz
+    private User currentUserReference(Long currentUserId) {
+        return userRepository.getReferenceById(currentUserId);
+    }
+
+    private Pageable cursorPageable(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new ApiException("Sayfa boyutu 1-" + MAX_CURSOR_PAGE_SIZE + " arasında olmalıdır",
+                    HttpStatus.BAD_REQUEST);
+        }
+        // Slice bir fazla kayıt okuyarak sonraki sayfanın varlığını anlar, COUNT çalıştırmaz
+        return PageRequest.of(0, size);
+    }
+
+    private CursorSlice<TweetResponse> toCursorSlice(Slice<Tweet> slice,
+                                                     Function<List<Tweet>, List<TweetResponse>> mapper) {
+        List<Tweet> tweets = slice.getContent();
+        String nextCursor = slice.hasNext() && !tweets.isEmpty()
+                ? TweetCursor.of(tweets.get(tweets.size() - 1)).encode()
+                : null;
+        return new CursorSlice<>(
+                mapper.apply(tweets),
+                slice.getSize(),
+                slice.hasNext(),
+                nextCursor
+        );
     }
 
     private void validateSortProperties(Sort sort) {
@@ -81,13 +319,83 @@ public class TweetServiceImpl implements TweetService {
 
 
     @Override
-    @Cacheable(value = "tweets",key = "#id")
-    public TweetDetailResponse findById(Long id, String userEmail) {
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı", HttpStatus.NOT_FOUND));
+    public String detailTag(TweetDetailResponse detail) {
+        // Gövde TweetCoreCache'teki çekirdeklerden kurulduğu için etiket de aynı çekirdeklerin sürüm alanlarından
+        // hesaplanır; DB kolonlarından hesaplansaydı TTL dolana kadar eski yazar bilgisiyle yeni etiket dönebilirdi.
+        // Zincirin son elemanı parentTweet olarak tekrarlandığı için ayrıca eklenmez
+        StringBuilder version = new StringBuilder("detail");
+        appendVersion(version, detail);
+        detail.getConversationThread().forEach(response -> appendVersion(version, response));
+        return EntityTags.strong(version);
+    }
+
+    // Sayaçlar çekirdek kurulurken bekleyen deltalarla birlikte yazılır, updated_at'i değiştirmez
+    private static void appendVersion(StringBuilder version, TweetResponse response) {
+        version.append('|').append(response.getId())
+                .append(':').append(response.getSourceUpdatedAt())
+                .append(':').append(response.getLikeCount())
+                .append(':').append(response.getRetweetCount())
+                .append(':').append(response.getReplyCount())
+                .append(':').append(response.isDeleted())
+                .append(':').append(response.isParentTweetDeleted())
+                .append(':').append(response.isLiked())
+                .append(':').append(response.getRetweetId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findRepliesTag(Long tweetId, Pageable pageable, Long currentUserId) {
+        if (!tweetRepository.existsById(tweetId)) {
+            return Optional.empty();
+        }
+        Page<TweetVersion> page = tweetRepository.findReplyVersionsByTweetId(tweetId, currentUserId, pageable);
+        StringBuilder version = new StringBuilder("replies:").append(page.getTotalElements());
+        page.forEach(row -> appendVersion(version, row));
+        return Optional.of(EntityTags.strong(version));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findRepliesByCursorTag(Long tweetId, String cursor, int size, Long currentUserId) {
+        Pageable pageable = cursorPageable(size);
+        if (!tweetRepository.existsById(tweetId)) {
+            return Optional.empty();
+        }
+        Slice<TweetVersion> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = tweetRepository.findReplyVersionsByTweetIdSlice(tweetId, currentUserId, pageable);
+        } else {
+            TweetCursor after = TweetCursor.decode(cursor);
+            slice = tweetRepository.findReplyVersionsByTweetIdBefore(tweetId, after.createdAt(), after.id(),
+                    currentUserId, pageable);
+        }
+        StringBuilder version = new StringBuilder("replies-cursor:").append(slice.hasNext());
+        slice.forEach(row -> appendVersion(version, row));
+        return Optional.of(EntityTags.strong(version));
+    }
 
-        return tweetRepository.findByIdWithDetails(id)
-                .map(tweet -> tweetMapper.toTweetDetailResponse(tweet, currentUser))
+    // Henüz yazılmamış sayaç deltaları da yanıtta göründüğü için sürüme eklenir
+    private void appendVersion(StringBuilder version, TweetVersion row) {
+        EngagementCounterService.PendingCounts pending = engagementCounterService.pending(row.getId());
+        version.append('|').append(row.getId())
+                .append(':').append(row.getUpdatedAt())
+                .append(':').append(row.getLikeCount()).append('+').append(pending.likes())
+                .append(':').append(row.getRetweetCount()).append('+').append(pending.retweets())
+                .append(':').append(row.getReplyCount()).append('+').append(pending.replies())
+                .append(':').append(row.getDeleted())
+                .append(':').append(row.getParentDeleted())
+                .append(':').append(row.getAuthorUpdatedAt())
+                .append(':').append(row.getParentAuthorUpdatedAt())
+                .append(':').append(row.getViewerLikes())
+                .append(':').append(row.getViewerRetweetId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TweetDetailResponse findById(Long id, Long currentUserId) {
+
+        // Tweet ve zinciri TweetCoreCache'ten gelir, beğeni/retweet bayrakları her istekte hesaplanır
+        return tweetMapper.toTweetDetailResponse(id, currentUserId)
                 .orElseThrow(() -> new ApiException("Tweet bulunamadı", HttpStatus.NOT_FOUND));
     }
 
@@ -95,8 +403,8 @@ public class TweetServiceImpl implements TweetService {
 
     @Override
     @Transactional
-    public TweetDetailResponse createTweet(String content, MultipartFile media, String username) {
-        User user=userRepository.findByEmail(username)
+    public TweetDetailResponse createTweet(String content, MultipartFile media, Long currentUserId) {
+        User user=userRepository.findById(currentUserId)
                 .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
         TweetRequest tweetRequest=new TweetRequest();
         tweetRequest.setContent(content);
@@ -113,18 +421,19 @@ public class TweetServiceImpl implements TweetService {
         newTweet.setUser(user);
 
         tweetRepository.save(newTweet);
+        tweetHashtagService.index(newTweet);
         user.incrementTweetsCount();
+        publishTweetCreated(newTweet);
         return tweetMapper.toTweetDetailResponse(newTweet,user);
     }
 
     @Override
-    public Page<TweetResponse> findRepliesByTweetId(Long tweetId, Pageable pageable, String username) {
+    public Page<TweetResponse> findRepliesByTweetId(Long tweetId, Pageable pageable, Long currentUserId) {
         log.debug("Finding replies for tweet ID: {} with page: {}", tweetId, pageable.getPageNumber());
 
         // Mevcut kullanıcıyı bul
-        User currentUser = userRepository.findByEmail(username)
-                .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı", HttpStatus.NOT_FOUND));
-        log.debug("Current user found: {}", currentUser.getUsername());
+        User currentUser = currentUserReference(currentUserId);
+        log.debug("Current user found: {}", currentUserId);
 
         // Tweet'in var olduğunu kontrol et
         Tweet parentTweet = tweetRepository.findById(tweetId)
@@ -141,38 +450,16 @@ public class TweetServiceImpl implements TweetService {
         Page<Tweet> replies = tweetRepository.findRepliesByTweetId(tweetId, pageable);
         log.debug("Found {} replies", replies.getTotalElements());
 
-        // Eğer yanıt yoksa nedenini anlamak için veritabanını kontrol et
-        if (replies.isEmpty()) {
-            // Manuel olarak yanıtları kontrol et
-            List<Tweet> allReplies = tweetRepository.findAll()
-                    .stream()
-                    .filter(t -> t.getTweetType() == TweetType.REPLY)
-                    .filter(t -> !t.isDeleted())
-                    .filter(t -> t.getParentTweet() != null && t.getParentTweet().getId().equals(tweetId))
-                    .toList();
-
-            log.debug("Manual reply check found {} potential replies", allReplies.size());
-            allReplies.forEach(reply -> {
-                log.debug("Potential reply - ID: {}, ParentID: {}, Type: {}, Deleted: {}",
-                        reply.getId(),
-                        reply.getParentTweet() != null ? reply.getParentTweet().getId() : "null",
-                        reply.getTweetType(),
-                        reply.isDeleted());
-            });
-        }
-
-        return replies.map(reply -> {
-            TweetResponse response = tweetMapper.toTweetResponse(reply, currentUser);
-            response.setParentTweetID(tweetId);
-            return response;
-        });
+        Page<TweetResponse> responses = tweetMapper.toTweetResponses(replies, currentUser);
+        responses.forEach(response -> response.setParentTweetID(tweetId));
+        return responses;
     }
 
     @Override
     @Transactional
-    public TweetDetailResponse replyToTweet(Long tweetId, String content, MultipartFile media, String username) {
+    public TweetDetailResponse replyToTweet(Long tweetId, String content, MultipartFile media, Long currentUserId) {
         // 1. Kullanıcı kontrolü
-        User user = userRepository.findByEmail(username)
+        User user = userRepository.findById(currentUserId)
                 .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı", HttpStatus.NOT_FOUND));
 
         // 2. Parent tweet kontrolü
@@ -200,21 +487,23 @@ public class TweetServiceImpl implements TweetService {
         // 6. Parent tweet'i belirle ve reply count'u güncelle
         Tweet targetParent = determineParentTweet(parentTweet);
         newReplyTweet.setParentTweet(targetParent);
-        targetParent.incrementReplyCount();
 
         // 7. Değişiklikleri kaydet
-        tweetRepository.save(targetParent);
         tweetRepository.save(newReplyTweet);
+        tweetHashtagService.index(newReplyTweet);
+        engagementCounterService.increment(targetParent.getId(), EngagementType.REPLY);
+        tweetCoreCache.evict(targetParent.getId());
         user.incrementTweetsCount();
+        publishTweetCreated(newReplyTweet);
 
         return tweetMapper.toTweetDetailResponse(newReplyTweet, user);
     }
 
     @Override
     @Transactional
-    public TweetDetailResponse retweet(RetweetRequest retweetRequest, String username) {
+    public TweetDetailResponse retweet(RetweetRequest retweetRequest, Long currentUserId) {
      try {
-         User user=userRepository.findByEmail(username)
+         User user=userRepository.findById(currentUserId)
                  .orElseThrow(()->new ApiException("Kullanıcı bulunamadı! ",HttpStatus.NOT_FOUND));
          Tweet targetTweet=tweetRepository.findById(retweetRequest.getParentTweetId())
                  .orElseThrow(()->new ApiException("Retweetlemek istenen tweet bulunamadı!", HttpStatus.NOT_FOUND));
@@ -230,14 +519,18 @@ public class TweetServiceImpl implements TweetService {
          if (existingRetweet.isPresent()){
         // Eğer kullanıcı daha önce retweet yapmışsa, retweet'i geri al
              Tweet retweet=existingRetweet.get();
-             originalTweet.removeRetweet(user);
              user.decrementTweetsCount();
 
              tweetRepository.delete(retweet);
-             tweetRepository.save(originalTweet);
+             engagementCounterService.decrement(originalTweet.getId(), EngagementType.RETWEET);
+             tweetCoreCache.evict(originalTweet.getId());
+             tweetCoreCache.evict(retweet.getId());
+             eventPublisher.publishEvent(new TweetDeletedEvent(retweet.getId(), user.getId()));
              TweetDetailResponse response= tweetMapper.toTweetDetailResponse(originalTweet,user);
              response.setRetweetId(null);
              response.setRetweeted(false);
+             // Sayaç commit sonrası uygulanacağı için yanıttaki değer burada düzeltilir
+             response.setRetweetCount(Math.max(response.getRetweetCount() - 1, 0));
 
              return response;
          }else {
@@ -251,16 +544,18 @@ public class TweetServiceImpl implements TweetService {
              retweet.setMediaUrl(originalTweet.getMediaUrl());
              retweet.setMediaType(originalTweet.getMediaType());
 
-             originalTweet.addRetweet(user);
              user.incrementTweetsCount();
 
 
              tweetRepository.save(retweet);
-             tweetRepository.save(originalTweet);
+             engagementCounterService.increment(originalTweet.getId(), EngagementType.RETWEET);
+             tweetCoreCache.evict(originalTweet.getId());
              userRepository.save(user);
+             publishTweetCreated(retweet);
              TweetDetailResponse response= tweetMapper.toTweetDetailResponse(retweet,user);
              response.setRetweeted(true);
              response.setRetweetId(retweet.getId());
+             response.setRetweetCount(response.getRetweetCount() + 1);
 
              return response;
          }
@@ -274,9 +569,9 @@ public class TweetServiceImpl implements TweetService {
 
     @Override
     @Transactional
-    public TweetDetailResponse quoteTweet(Long tweetId, String content, MultipartFile media, String username) {
+    public TweetDetailResponse quoteTweet(Long tweetId, String content, MultipartFile media, Long currentUserId) {
         try {
-            User user = userRepository.findByEmail(username)
+            User user = userRepository.findById(currentUserId)
                     .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı!", HttpStatus.NOT_FOUND));
 
             Tweet parentTweet = tweetRepository.findById(tweetId)
@@ -305,11 +600,13 @@ public class TweetServiceImpl implements TweetService {
             }
 
             tweetRepository.save(quoteTweet);
+            tweetHashtagService.index(quoteTweet);
             user.incrementTweetsCount();
+            publishTweetCreated(quoteTweet);
 
             // Quote count'u artır
-            originalTweet.setRetweetCount(originalTweet.getRetweetCount() + 1);
-            tweetRepository.save(originalTweet);
+            engagementCounterService.increment(originalTweet.getId(), EngagementType.QUOTE);
+            tweetCoreCache.evict(originalTweet.getId());
 
             return tweetMapper.toTweetDetailResponse(quoteTweet, user);
         } catch (Exception e) {
@@ -320,13 +617,12 @@ public class TweetServiceImpl implements TweetService {
 
     @Override
     @Transactional
-    public TweetDetailResponse update(Long id, Tweet tweet, String userEmail) {
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı", HttpStatus.NOT_FOUND));
+    public TweetDetailResponse update(Long id, Tweet tweet, Long currentUserId) {
+        User currentUser = currentUserReference(currentUserId);
         Tweet existingTweet = tweetRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ApiException("Tweet bulunamadı", HttpStatus.NOT_FOUND));
 
-        if(!existingTweet.getUser().getEmail().equals(userEmail)){
+        if(!existingTweet.getUser().getId().equals(currentUserId)){
             throw new ApiException("Sadece kendi tweetlerini güncelleyebilirsin!", HttpStatus.FORBIDDEN);
         }
         TweetValidations.tweetControl(tweet,existingTweet);
@@ -338,27 +634,28 @@ public class TweetServiceImpl implements TweetService {
         }
         existingTweet.setUpdatedAt(LocalDateTime.now());
         Tweet savedTweet = tweetRepository.save(existingTweet);
+        tweetHashtagService.reindex(savedTweet);
+        tweetCoreCache.evict(savedTweet.getId());
+        eventPublisher.publishEvent(new TweetUpdatedEvent(savedTweet.getId(), savedTweet.getContent()));
         return tweetMapper.toTweetDetailResponse(savedTweet, currentUser);
     }
 
     @Override
     @Transactional
-    public TweetDetailResponse delete(Long id, String userEmail) {
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı", HttpStatus.NOT_FOUND));
+    public TweetDetailResponse delete(Long id, Long currentUserId) {
+        User currentUser = currentUserReference(currentUserId);
 
         Tweet existingTweet = tweetRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ApiException("Tweet bulunamadı", HttpStatus.NOT_FOUND));
 
-        if(!existingTweet.getUser().getEmail().equals(userEmail)){
+        if(!existingTweet.getUser().getId().equals(currentUserId)){
             throw new ApiException("Sadece kendi twitlerini silebilirsin!", HttpStatus.FORBIDDEN);
         }
 
         // Parent tweet varsa reply count'u azalt
         if(existingTweet.getParentTweet() != null&&existingTweet.getTweetType()==TweetType.REPLY){
-            Tweet parentTweet = existingTweet.getParentTweet();
-            parentTweet.decrementReplyCount();
-            tweetRepository.save(parentTweet);
+            engagementCounterService.decrement(existingTweet.getParentTweet().getId(), EngagementType.REPLY);
+            tweetCoreCache.evict(existingTweet.getParentTweet().getId());
         }
 
         // Retweet'leri bul ve sil
@@ -366,6 +663,8 @@ public class TweetServiceImpl implements TweetService {
         for (Tweet retweet : retweets) {
             retweet.getUser().decrementTweetsCount();
             tweetRepository.delete(retweet);
+            tweetCoreCache.evict(retweet.getId());
+            eventPublisher.publishEvent(new TweetDeletedEvent(retweet.getId(), retweet.getUser().getId()));
         }
 
         // Orijinal içeriği sakla
@@ -385,10 +684,23 @@ public class TweetServiceImpl implements TweetService {
         existingTweet.getUser().decrementTweetsCount();
 
         tweetRepository.save(existingTweet);
+        tweetHashtagService.remove(existingTweet.getId());
+        tweetCoreCache.evict(existingTweet.getId());
+        eventPublisher.publishEvent(new TweetDeletedEvent(existingTweet.getId(), existingTweet.getUser().getId()));
 
         return tweetMapper.toTweetDetailResponse(existingTweet, currentUser);
     }
 
+    private void publishTweetCreated(Tweet tweet) {
+        eventPublisher.publishEvent(new TweetCreatedEvent(
+                tweet.getId(),
+                tweet.getUser().getId(),
+                tweet.getTweetType(),
+                tweet.getCreatedAt(),
+                tweet.getContent()
+        ));
+    }
+
     private MediaType determineMediaType(String contentType) {
         if (contentType == null) return MediaType.NONE;
 
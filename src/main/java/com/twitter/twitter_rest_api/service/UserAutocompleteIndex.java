@@ -0,0 +1,391 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.dto.UserSuggestion;
+import com.twitter.twitter_rest_api.event.FollowChangedEvent;
+import com.twitter.twitter_rest_api.event.UserChangedEvent;
+import com.twitter.twitter_rest_api.event.UserRegisteredEvent;
+import com.twitter.twitter_rest_api.exceptions.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Kullanıcı adı, ad, soyad ve "ad soyad" önekleri için bellek içi trie. Her düğüm o önekle
+// başlayan kullanıcılardan takipçi sayısı en yüksek topN tanesini hazır tutar; sorgu sadece
+// önek uzunluğu kadar düğüm gezer. Kayıt/profil değişikliği ve takip event'leriyle güncellenir.
+// Düğümler topN'in iki katına kadar aday tutar; çıkarmalarla liste topN'in altına düşerse
+// o önekte bitenlerden ve çocukların listelerinden yeniden doldurulur.
+// Diğer node'lardaki değişiklikler periyodik yeniden kurulumda gelir
+@Slf4j
+@Service
+public class UserAutocompleteIndex {
+    private static final String REBUILD_SQL = """
+            SELECT u.id, u.username, u.first_name, u.last_name, u.profile_image, u.followers_count
+            FROM twitterapi.app_user u
+            WHERE u.id > ?
+            ORDER BY u.id
+            LIMIT ?
+            """;
+    private static final String LOAD_SQL = """
+            SELECT u.id, u.username, u.first_name, u.last_name, u.profile_image, u.followers_count
+            FROM twitterapi.app_user u
+            WHERE u.id = ?
+            """;
+    // Daha uzun önekler sonucu daraltmaz, trie derinliği sınırlı kalsın
+    private static final int MAX_KEY_LENGTH = 30;
+    private static final Comparator<Entry> RANK = Comparator.comparingInt((Entry e) -> e.followers).reversed()
+            .thenComparingLong(e -> e.id);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int topN;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    private Map<Long, Entry> entries = new HashMap<>();
+    // Yeniden kurulum sürerken değişen kullanıcılar; kurulum bitince veritabanından tekrar okunur
+    private Set<Long> touchedDuringRebuild;
+
+    public UserAutocompleteIndex(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.search.autocomplete.top-n:10}") int topN,
+                                 @Value("${app.search.autocomplete.rebuild-batch-size:5000}") int rebuildBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topN = topN;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public List<UserSuggestion> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > topN) {
+            throw new ApiException("Limit 1-" + topN + " arasında olmalıdır", HttpStatus.BAD_REQUEST);
+        }
+        String key = prefix == null ? "" : normalize(prefix.startsWith("@") ? prefix.substring(1) : prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            int size = Math.min(limit, node.top.length);
+            List<UserSuggestion> suggestions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                suggestions.add(node.top[i].toSuggestion());
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        reload(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        reload(event.userId());
+    }
+
+    // Takipçi sayısı veritabanına gitmeden güncellenir
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            markTouched(event.followedId());
+            Entry entry = entries.get(event.followedId());
+            if (entry == null) {
+                return;
+            }
+            // Sıralama anahtarı değişmeden önce listelerden çıkarılır, offer yeni yerine ekler
+            removeFromTrie(root, entry, topN);
+            entry.followers = Math.max(0, entry.followers + (event.following() ? 1 : -1));
+            addToTrie(root, entry, topN);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reload(Long userId) {
+        List<Entry> loaded = jdbcTemplate.query(LOAD_SQL, ENTRY_MAPPER, userId);
+        lock.writeLock().lock();
+        try {
+            markTouched(userId);
+            Entry previous = entries.remove(userId);
+            if (previous != null) {
+                removeFromTrie(root, previous, topN);
+            }
+            for (Entry entry : loaded) {
+                entries.put(entry.id, entry);
+                addToTrie(root, entry, topN);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markTouched(Long userId) {
+        if (touchedDuringRebuild != null) {
+            touchedDuringRebuild.add(userId);
+        }
+    }
+
+    // Yeni trie kilit dışında kurulur, tek adımda eskisinin yerine geçer
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search.autocomplete.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.search.autocomplete.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Node newRoot = new Node();
+        Map<Long, Entry> newEntries = new HashMap<>();
+        long lastId = 0;
+        while (true) {
+            List<Entry> batch = jdbcTemplate.query(REBUILD_SQL, ENTRY_MAPPER, lastId, rebuildBatchSize);
+            for (Entry entry : batch) {
+                newEntries.put(entry.id, entry);
+                addToTrie(newRoot, entry, topN);
+            }
+            if (batch.size() < rebuildBatchSize) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).id;
+        }
+
+        Set<Long> touched;
+        lock.writeLock().lock();
+        try {
+            root = newRoot;
+            entries = newEntries;
+            touched = touchedDuringRebuild;
+            touchedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        touched.forEach(this::reload);
+        log.info("Kullanıcı otomatik tamamlama indeksi kuruldu: {} kullanıcı, {} ms",
+                newEntries.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static void addToTrie(Node root, Entry entry, int topN) {
+        for (String key : entry.keys) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+                node.offer(entry, topN * 2);
+            }
+            node.addEnding(entry);
+        }
+    }
+
+    // Yeniden doldurma çocukların listelerini kullandığı için yol en derinden köke doğru gezilir
+    private static void removeFromTrie(Node root, Entry entry, int topN) {
+        for (String key : entry.keys) {
+            Node[] path = new Node[key.length()];
+            Node node = root;
+            int depth = 0;
+            while (depth < key.length() && (node = node.child(key.charAt(depth))) != null) {
+                node.remove(entry);
+                path[depth++] = node;
+            }
+            if (depth == key.length()) {
+                path[depth - 1].removeEnding(entry);
+            }
+            for (int i = depth - 1; i >= 0; i--) {
+                path[i].refillIfShort(topN, topN * 2);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        String folded = SearchTokenizer.fold(text.strip());
+        return folded.length() > MAX_KEY_LENGTH ? folded.substring(0, MAX_KEY_LENGTH) : folded;
+    }
+
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> new Entry(
+            rs.getLong("id"),
+            rs.getString("username"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("profile_image"),
+            rs.getInt("followers_count"));
+
+    private static final class Entry {
+        private final long id;
+        private final String username;
+        private final String fullName;
+        private final String profileImage;
+        private final String[] keys;
+        private int followers;
+
+        Entry(long id, String username, String firstName, String lastName, String profileImage, int followers) {
+            this.id = id;
+            this.username = username;
+            this.fullName = (firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName);
+            this.profileImage = profileImage;
+            this.followers = followers;
+            Set<String> keys = new LinkedHashSet<>();
+            for (String text : new String[]{username, firstName, lastName, this.fullName}) {
+                if (text != null && !text.isBlank()) {
+                    keys.add(normalize(text));
+                }
+            }
+            this.keys = keys.toArray(String[]::new);
+        }
+
+        UserSuggestion toSuggestion() {
+            return new UserSuggestion(id, username, fullName, profileImage, followers);
+        }
+    }
+
+    // Çocuklar sıralı char dizisinde tutulur (HashMap'e göre çok daha az bellek)
+    private static final class Node {
+        private static final char[] NO_CHARS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private char[] chars = NO_CHARS;
+        private Node[] children = NO_NODES;
+        // Takipçi sayısına göre azalan, en fazla 2*topN eleman
+        private Entry[] top = NO_ENTRIES;
+        // Anahtarı tam bu önek olan kullanıcılar; yeniden doldururken çocuklarda bulunmazlar
+        private Entry[] endings = NO_ENTRIES;
+        // Listeye sığmayan aday var; hepsi listenin son elemanından sonra gelir
+        private boolean truncated;
+
+        Node child(char c) {
+            int position = Arrays.binarySearch(chars, c);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int position = Arrays.binarySearch(chars, c);
+            if (position >= 0) {
+                return children[position];
+            }
+            int insertAt = -position - 1;
+            Node node = new Node();
+            char[] newChars = new char[chars.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newChars[insertAt] = c;
+            newChildren[insertAt] = node;
+            System.arraycopy(chars, insertAt, newChars, insertAt + 1, chars.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            chars = newChars;
+            children = newChildren;
+            return node;
+        }
+
+        void offer(Entry entry, int capacity) {
+            remove(entry);
+            int position = 0;
+            while (position < top.length && RANK.compare(top[position], entry) < 0) {
+                position++;
+            }
+            // Listede olmayan adaylarla sırası bilinmiyor, onlar gibi dışarıda kalır
+            if (position >= capacity || (position == top.length && truncated)) {
+                truncated = true;
+                return;
+            }
+            if (top.length == capacity) {
+                truncated = true;
+            }
+            int size = Math.min(top.length + 1, capacity);
+            Entry[] newTop = new Entry[size];
+            System.arraycopy(top, 0, newTop, 0, position);
+            newTop[position] = entry;
+            System.arraycopy(top, position, newTop, position + 1, size - position - 1);
+            top = newTop;
+        }
+
+        void remove(Entry entry) {
+            top = without(top, entry);
+        }
+
+        void addEnding(Entry entry) {
+            endings = without(endings, entry);
+            endings = Arrays.copyOf(endings, endings.length + 1);
+            endings[endings.length - 1] = entry;
+        }
+
+        void removeEnding(Entry entry) {
+            endings = without(endings, entry);
+        }
+
+        // Bir çocuğun listesi dışında kalan aday o çocuğun listesindeki herkesten sonra gelir;
+        // bu yüzden çocukların listeleri ve burada biten kullanıcılar yeni listeyi kurmaya yeter.
+        // Eksik çocuk listelerinin en önde biten son elemanından sonrası kesin değildir, alınmaz
+        void refillIfShort(int topN, int capacity) {
+            if (!truncated || top.length >= topN) {
+                return;
+            }
+            Map<Long, Entry> candidates = new HashMap<>();
+            Entry bound = null;
+            for (Entry entry : endings) {
+                candidates.put(entry.id, entry);
+            }
+            for (Node child : children) {
+                for (Entry entry : child.top) {
+                    candidates.put(entry.id, entry);
+                }
+                if (child.truncated && child.top.length > 0) {
+                    Entry last = child.top[child.top.length - 1];
+                    if (bound == null || RANK.compare(last, bound) < 0) {
+                        bound = last;
+                    }
+                }
+            }
+            List<Entry> ranked = new ArrayList<>(candidates.values());
+            ranked.sort(RANK);
+            int size = Math.min(capacity, ranked.size());
+            while (bound != null && size > 0 && RANK.compare(ranked.get(size - 1), bound) > 0) {
+                size--;
+            }
+            top = ranked.subList(0, size).toArray(Entry[]::new);
+            truncated = bound != null || ranked.size() > size;
+        }
+
+        private static Entry[] without(Entry[] entries, Entry entry) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].id == entry.id) {
+                    Entry[] result = new Entry[entries.length - 1];
+                    System.arraycopy(entries, 0, result, 0, i);
+                    System.arraycopy(entries, i + 1, result, i, entries.length - i - 1);
+                    return result;
+                }
+            }
+            return entries;
+        }
+    }
+}
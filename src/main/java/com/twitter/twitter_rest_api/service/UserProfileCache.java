@@ -0,0 +1,128 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.config.CacheConfig;
+import com.twitter.twitter_rest_api.dto.UserResponse;
+import com.twitter.twitter_rest_api.event.FollowChangedEvent;
+import com.twitter.twitter_rest_api.event.TweetCreatedEvent;
+import com.twitter.twitter_rest_api.event.TweetDeletedEvent;
+import com.twitter.twitter_rest_api.event.UserChangedEvent;
+import com.twitter.twitter_rest_api.exceptions.ApiException;
+import com.twitter.twitter_rest_api.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Kullanıcı id'sine göre UserResponse önbelleği. Sayaç ya da profil değiştiren her yol
+// bir event yayınladığı için kayıt commit sonrası silinir, kaçırılan değişiklik TTL ile düzelir
+@Component
+public class UserProfileCache {
+    private final UserRepository userRepository;
+    private final Cache cache;
+    // getAll'un yüklediklerini yazmadan önce arada silme olup olmadığını anlaması için
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserProfileCache(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.cache = cacheManager.getCache(CacheConfig.USER_PROFILES);
+    }
+
+    // Yükleme önbellekte atomik çalışır: yükleme sürerken gelen silme, yükleme bitince uygulanır ve
+    // eski satırdan okunan yanıt silmeden sonra önbelleğe yazılamaz
+    public UserResponse get(Long userId) {
+        try {
+            return cache.get(userId, () -> userRepository.findById(userId)
+                    .map(UserResponse::from)
+                    .orElseThrow(() -> new ApiException("Kullanıcı bulunamadı", HttpStatus.NOT_FOUND)));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Sayfadaki kullanıcılar verilen sırayla döner; önbellekte olmayanlar tek sorguda yüklenir,
+    // bu arada silinmiş kullanıcılar atlanır. Toplu yükleme atomik olmadığından, sorgu sürerken
+    // herhangi bir silme olduysa yüklenenler önbellekten geri alınır
+    public List<UserResponse> getAll(List<Long> userIds) {
+        long evictionsBefore = evictions.get();
+        Map<Long, UserResponse> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            UserResponse cached = cache.get(userId, UserResponse.class);
+            if (cached != null) {
+                found.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Long> loadedIds = new ArrayList<>(missing.size());
+            userRepository.findAllById(missing).forEach(user -> {
+                UserResponse loaded = UserResponse.from(user);
+                cache.putIfAbsent(user.getId(), loaded);
+                found.put(user.getId(), loaded);
+                loadedIds.add(user.getId());
+            });
+            // Yazdıktan sonra kontrol edilir: sayaç artmadıysa sonraki silmeler bu kayıtları zaten temizler
+            if (evictions.get() != evictionsBefore) {
+                loadedIds.forEach(cache::evictIfPresent);
+            }
+        }
+        List<UserResponse> result = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            UserResponse response = found.get(userId);
+            if (response != null) {
+                result.add(response);
+            }
+        }
+        return result;
+    }
+
+    // Dinleyiciler commit sonrası çalıştığı için silme ertelenmeden hemen uygulanır
+    public void evict(Long userId) {
+        if (userId != null) {
+            evictions.incrementAndGet();
+            cache.evictIfPresent(userId);
+        }
+    }
+
+    public void clear() {
+        evictions.incrementAndGet();
+        cache.invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+    }
+
+    // Takip eden kullanıcının following, takip edilenin followers sayacı değişir
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        evict(event.followerId());
+        evict(event.followedId());
+    }
+
+    // Tweet/retweet/yanıt/alıntı eklenip silindiğinde yazarın tweet sayacı değişir
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetCreated(TweetCreatedEvent event) {
+        evict(event.authorId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTweetDeleted(TweetDeletedEvent event) {
+        evict(event.authorId());
+    }
+}
@@ -2,10 +2,12 @@ package com.twitter.twitter_rest_api.service;
 
 import com.twitter.twitter_rest_api.dto.UserResponse;
 import com.twitter.twitter_rest_api.entity.User;
+import com.twitter.twitter_rest_api.event.UserChangedEvent;
 import com.twitter.twitter_rest_api.exceptions.ApiException;
 import com.twitter.twitter_rest_api.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,16 +19,21 @@ public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final S3Service s3Service;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserProfileCache userProfileCache;
     @Autowired
-    public UserService(UserRepository userRepository, S3Service s3Service) {
+    public UserService(UserRepository userRepository, S3Service s3Service, ApplicationEventPublisher eventPublisher,
+                       UserProfileCache userProfileCache) {
         this.userRepository = userRepository;
         this.s3Service = s3Service;
+        this.eventPublisher = eventPublisher;
+        this.userProfileCache = userProfileCache;
     }
 
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        log.info("Kullanıcı yükleniyor: {}", email);
+        log.debug("Kullanıcı yükleniyor: {}", email);
 
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> {
@@ -35,45 +42,17 @@ public class UserService implements UserDetailsService {
                 });
     }
 
-    public UserResponse getCurrentUser(String email){
-        log.info("Getting current user details: {}",email);
-        User user=userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
-
-        return new UserResponse(
-                user.getId(),
-                user.getFullName(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getBio(),
-                user.getProfileImage(),
-                user.getHeaderImage(),
-                user.getFollowersCount(),
-                user.getFollowingCount(),
-                user.getTweetsCount(),
-                user.getVerified(),
-                user.getPrivateAccount(),
-                user.getCreatedAt()
-        );
+    public UserResponse getCurrentUser(Long userId){
+        log.debug("Getting current user details: {}",userId);
+        return userProfileCache.get(userId);
     }
     public UserResponse getById(Long id){
-        User user=userRepository.findById(id)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + id));
-        return new UserResponse(
-                user.getId(),
-                user.getFullName(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getBio(),
-                user.getProfileImage(),
-                user.getHeaderImage(),
-                user.getFollowersCount(),
-                user.getFollowingCount(),
-                user.getTweetsCount(),
-                user.getVerified(),
-                user.getPrivateAccount(),
-                user.getCreatedAt()
-        );
+        return userProfileCache.get(id);
+    }
+
+    // Önbellekteki yanıt her değişiklikte silindiği için etiket doğrudan ondan hesaplanır
+    public String getProfileTag(Long id){
+        return EntityTags.strong(userProfileCache.get(id).toString());
     }
 
     public UserResponse updateProfileImage(String username, String imageUrl) {
@@ -87,7 +66,8 @@ public class UserService implements UserDetailsService {
 
         user.setProfileImage(imageUrl);
         User updatedUser = userRepository.save(user);
-        return convertToUserResponse(updatedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), updatedUser.getEmail()));
+        return UserResponse.from(updatedUser);
     }
 
 
@@ -103,7 +83,8 @@ public class UserService implements UserDetailsService {
 
         user.setHeaderImage(imageUrl);
         User updatedUser = userRepository.save(user);
-        return convertToUserResponse(updatedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), updatedUser.getEmail()));
+        return UserResponse.from(updatedUser);
     }
 
 
@@ -111,22 +92,4 @@ public class UserService implements UserDetailsService {
     private String extractFileNameFromUrl(String profileImage) {
         return profileImage.substring(profileImage.lastIndexOf("/") + 1);
     }
-    private UserResponse convertToUserResponse(User user) {
-        return new UserResponse(
-                user.getId(),
-                user.getFullName(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getBio(),
-                user.getProfileImage(),
-                user.getHeaderImage(),
-                user.getFollowersCount(),
-                user.getFollowingCount(),
-                user.getTweetsCount(),
-                user.getVerified(),
-                user.getPrivateAccount(),
-                user.getCreatedAt()
-        );
-    }
 }
-
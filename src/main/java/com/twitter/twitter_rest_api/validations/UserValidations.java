@@ -5,9 +5,15 @@ import com.twitter.twitter_rest_api.repository.UserRepository;
 import org.springframework.http.HttpStatus;
 
 public class UserValidations {
-    public static void emailExistCheck(UserRepository userRepository, String email) {
-        if (userRepository.findByEmail(email).isPresent()){
-            throw new RuntimeException("Email already exist: "+email);
+    // Email ve kullanıcı adı tek sorguda kontrol edilir; yarışta kalan kayıtları unique index yakalar
+    public static void identityExistCheck(UserRepository userRepository, String email, String username) {
+        for (UserRepository.IdentityRef existing : userRepository.findIdentityConflicts(email, username)) {
+            if (email.equals(existing.getEmail())) {
+                throw new ApiException("Email already exist: "+email, HttpStatus.CONFLICT);
+            }
+            if (username.equals(existing.getUsername())) {
+                throw new ApiException("Username already exist: "+username, HttpStatus.CONFLICT);
+            }
         }
     }
 }
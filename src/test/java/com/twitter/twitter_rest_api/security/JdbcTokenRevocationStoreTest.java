@@ -0,0 +1,74 @@
+package com.twitter.twitter_rest_api.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcTokenRevocationStoreTest {
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM twitterapi.revoked_tokens WHERE jti = ?";
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcTokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:revocation;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS twitterapi");
+        jdbcTemplate.execute("""
+                CREATE TABLE twitterapi.revoked_tokens (
+                    jti VARCHAR(64) PRIMARY KEY,
+                    expires_at TIMESTAMP NOT NULL,
+                    revoked_at TIMESTAMP NOT NULL
+                )
+                """);
+        store = new JdbcTokenRevocationStore(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA twitterapi CASCADE");
+    }
+
+    @Test
+    void secondRevokeOfSameTokenReportsConflict() {
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+
+        assertThat(store.revoke("jti-1", expiresAt)).isTrue();
+        assertThat(store.revoke("jti-1", expiresAt)).isFalse();
+        assertThat(store.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void revocationsFromOtherNodesAreVisibleAfterSync() {
+        Instant now = Instant.now();
+        jdbcTemplate.update("INSERT INTO twitterapi.revoked_tokens VALUES (?, ?, ?)",
+                "baska-node", Timestamp.from(now.plus(Duration.ofHours(1))), Timestamp.from(now));
+        assertThat(store.isRevoked("baska-node")).isFalse();
+
+        store.sync();
+
+        assertThat(store.isRevoked("baska-node")).isTrue();
+    }
+
+    @Test
+    void purgeDeletesOnlyExpiredRows() {
+        Instant now = Instant.now();
+        jdbcTemplate.update("INSERT INTO twitterapi.revoked_tokens VALUES (?, ?, ?)",
+                "suresi-dolmus", Timestamp.from(now.minus(Duration.ofMinutes(1))), Timestamp.from(now.minus(Duration.ofHours(1))));
+        store.revoke("gecerli", now.plus(Duration.ofHours(1)));
+
+        store.purgeExpired();
+
+        assertThat(jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, "suresi-dolmus")).isZero();
+        assertThat(jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, "gecerli")).isEqualTo(1);
+    }
+}
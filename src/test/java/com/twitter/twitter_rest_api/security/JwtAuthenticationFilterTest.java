@@ -0,0 +1,66 @@
+package com.twitter.twitter_rest_api.security;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+    private JwtUtils jwtUtils;
+    private TokenRevocationStore revocationStore;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenExpirationMs", 1_800_000);
+        ReflectionTestUtils.setField(jwtUtils, "refreshTokenExpirationMs", 604_800_000);
+        ReflectionTestUtils.setField(jwtUtils, "statelessPrincipal", true);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 100L);
+        jwtUtils.init();
+
+        // Stateless modda kullanıcı claim'lerden kurulur, önbelleğe gerek kalmaz
+        revocationStore = new InMemoryTokenRevocationStore();
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "revocationStore", revocationStore);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void revokedAccessTokenIsNotAuthenticated() throws Exception {
+        String accessToken = jwtUtils.generateAccessToken(
+                new AuthenticatedUser(1L, "ayse@x.com", List.of(new SimpleGrantedAuthority("USER"))));
+        assertThat(authenticate(accessToken)).isNotNull();
+        SecurityContextHolder.clearContext();
+
+        // Logout: doğrulanmış token önbellekte olsa da iptal kaydı kontrol edilir
+        VerifiedToken verified = jwtUtils.verify(accessToken).orElseThrow();
+        revocationStore.revoke(verified.jti(), verified.expiresAt());
+
+        assertThat(authenticate(accessToken)).isNull();
+    }
+
+    private Authentication authenticate(String accessToken) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tweet");
+        request.setCookies(new Cookie("accessToken", accessToken));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,96 @@
+package com.twitter.twitter_rest_api.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JWT filtresinin token doğrulama maliyeti. Surefire çalıştırmaz, elle başlatılır:
+// mvn test-compile && java -cp target/test-classes:target/classes:<test classpath> \
+//     com.twitter.twitter_rest_api.security.JwtVerificationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private JwtUtils jwtUtils;
+    private JwtAuthenticationFilter filter;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenExpirationMs", 1_800_000);
+        ReflectionTestUtils.setField(jwtUtils, "refreshTokenExpirationMs", 604_800_000);
+        ReflectionTestUtils.setField(jwtUtils, "statelessPrincipal", true);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 10_000L);
+        jwtUtils.init();
+
+        accessToken = jwtUtils.generateAccessToken(
+                new AuthenticatedUser(1L, "bench@x.com", List.of(new SimpleGrantedAuthority("USER"))));
+
+        // Stateless modda filtre önbelleğe ya da veritabanına gitmez
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "revocationStore", new InMemoryTokenRevocationStore());
+    }
+
+    // Eski yol: her çağrıda anahtar ve parser yeniden kurulur, token iki kez çözülür
+    @Benchmark
+    public Object legacyValidateAndParse() {
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(accessToken);
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(accessToken)
+                .getBody()
+                .getSubject();
+    }
+
+    // Paylaşılan parser ile tek parse, önbellek devre dışı
+    @Benchmark
+    public Object singleParse() {
+        return jwtUtils.extractClaims(accessToken).getSubject();
+    }
+
+    @Benchmark
+    public Object cachedVerify() {
+        return jwtUtils.verify(accessToken).orElseThrow().subject();
+    }
+
+    @Benchmark
+    public Object filterStateless() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tweet");
+        request.setCookies(new Cookie("accessToken", accessToken));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
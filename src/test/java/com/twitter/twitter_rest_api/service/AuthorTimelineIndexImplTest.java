@@ -0,0 +1,155 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.dto.TweetCursor;
+import com.twitter.twitter_rest_api.entity.TweetType;
+import com.twitter.twitter_rest_api.event.TweetCreatedEvent;
+import com.twitter.twitter_rest_api.event.TweetDeletedEvent;
+import com.twitter.twitter_rest_api.repository.FollowRepository;
+import com.twitter.twitter_rest_api.repository.TweetRepository;
+import com.twitter.twitter_rest_api.repository.TweetRepository.AuthorTweetRef;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthorTimelineIndexImplTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final long VIEWER = 9L;
+    private static final long BUSY = 1L;
+    private static final long QUIET = 2L;
+
+    // Veritabanındaki tweetler; sahte repository sorguları buradan cevaplar
+    private final List<Row> rows = new ArrayList<>();
+    // Tampon sorgusu döndükten sonra bir kere çalışan kanca; yükleme sırasında commit edilen işlemi taklit eder
+    private Runnable afterBufferQuery;
+    private AuthorTimelineIndexImpl index;
+
+    @BeforeEach
+    void setUp() {
+        TweetRepository tweetRepository = mock(TweetRepository.class);
+        FollowRepository followRepository = mock(FollowRepository.class);
+        when(followRepository.findFollowingIdsByUserId(VIEWER)).thenReturn(List.of(BUSY, QUIET));
+        when(tweetRepository.findRecentTweetRefsByUserIdIn(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            List<AuthorTweetRef> refs = new ArrayList<>();
+            for (Long userId : userIds) {
+                refs.addAll(newestFirst(row -> row.userId().equals(userId)).stream().limit(limit).toList());
+            }
+            if (afterBufferQuery != null) {
+                Runnable hook = afterBufferQuery;
+                afterBufferQuery = null;
+                hook.run();
+            }
+            return refs;
+        });
+        when(tweetRepository.findTimelineCursors(anyCollection(), any())).thenAnswer(invocation ->
+                cursors(invocation.getArgument(0), row -> true, invocation.getArgument(1)));
+        when(tweetRepository.findTimelineCursorsBefore(anyCollection(), any(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime createdAt = invocation.getArgument(1);
+            Long id = invocation.getArgument(2);
+            return cursors(invocation.getArgument(0), row -> row.createdAt().isBefore(createdAt)
+                    || (row.createdAt().isEqual(createdAt) && row.id() < id), invocation.getArgument(3));
+        });
+        index = new AuthorTimelineIndexImpl(tweetRepository, followRepository, 3, 100, 60);
+    }
+
+    @Test
+    void pagesPastTheBusyAuthorsBufferFromTheDatabase() {
+        // Yoğun yazarın 6 tweeti tampona (3) sığmaz, sakin yazarın 2 tweeti sığar
+        for (long id : new long[]{2, 4, 6, 8, 10, 12}) {
+            rows.add(new Row(BUSY, id, BASE.plusMinutes(id)));
+        }
+        rows.add(new Row(QUIET, 3L, BASE.plusMinutes(3)));
+        rows.add(new Row(QUIET, 5L, BASE.plusMinutes(5)));
+
+        assertThat(pageIds(null)).containsExactly(12L, 10L, 8L);
+        // Yoğun yazarın tamponu 8'de biter; sakin yazarın 5 ve 3'ü 6 ve 4'ün önüne geçmemeli
+        assertThat(pageIds(cursor(8L))).containsExactly(6L, 5L, 4L);
+        assertThat(pageIds(cursor(4L))).containsExactly(3L, 2L);
+        assertThat(pageIds(cursor(2L))).isEmpty();
+    }
+
+    @Test
+    void bufferThatDropsTweetsOnCreateFallsBackToTheDatabase() {
+        rows.add(new Row(BUSY, 1L, BASE.plusMinutes(1)));
+        rows.add(new Row(BUSY, 2L, BASE.plusMinutes(2)));
+        assertThat(pageIds(null)).containsExactly(2L, 1L);
+
+        // Tampon yeni tweetlerle dolar, en eski tweet düşer
+        for (long id = 3; id <= 4; id++) {
+            rows.add(new Row(BUSY, id, BASE.plusMinutes(id)));
+            index.onTweetCreated(new TweetCreatedEvent(id, BUSY, TweetType.TWEET, BASE.plusMinutes(id), "tweet"));
+        }
+
+        assertThat(pageIds(null)).containsExactly(4L, 3L, 2L);
+        assertThat(pageIds(cursor(2L))).containsExactly(1L);
+    }
+
+    @Test
+    void eventsDuringBufferLoadAreAppliedAfterInstall() {
+        rows.add(new Row(BUSY, 1L, BASE.plusMinutes(1)));
+        rows.add(new Row(QUIET, 2L, BASE.plusMinutes(2)));
+        afterBufferQuery = () -> {
+            rows.add(new Row(QUIET, 3L, BASE.plusMinutes(3)));
+            index.onTweetCreated(new TweetCreatedEvent(3L, QUIET, TweetType.TWEET, BASE.plusMinutes(3), "tweet"));
+            rows.removeIf(row -> row.id() == 1L);
+            index.onTweetDeleted(new TweetDeletedEvent(1L, BUSY));
+        };
+
+        assertThat(pageIds(null)).containsExactly(3L, 2L);
+        assertThat(pageIds(null)).containsExactly(3L, 2L);
+    }
+
+    private List<Long> pageIds(TweetCursor before) {
+        return index.followingTimeline(VIEWER, before, 3).stream().map(TweetCursor::id).toList();
+    }
+
+    private static TweetCursor cursor(long id) {
+        return new TweetCursor(BASE.plusMinutes(id), id);
+    }
+
+    private List<Row> newestFirst(Predicate<Row> filter) {
+        return rows.stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(Row::createdAt).thenComparing(Row::id).reversed())
+                .toList();
+    }
+
+    private List<TweetCursor> cursors(Collection<Long> userIds, Predicate<Row> filter, Pageable pageable) {
+        return newestFirst(filter.and(row -> userIds.contains(row.userId()))).stream()
+                .limit(pageable.getPageSize())
+                .map(row -> new TweetCursor(row.createdAt(), row.id()))
+                .toList();
+    }
+
+    private record Row(Long userId, Long id, LocalDateTime createdAt) implements AuthorTweetRef {
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+    }
+}
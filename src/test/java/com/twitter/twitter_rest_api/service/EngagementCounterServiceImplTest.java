@@ -0,0 +1,137 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.entity.EngagementType;
+import com.twitter.twitter_rest_api.event.InvalidationMessage;
+import com.twitter.twitter_rest_api.mapper.TweetCoreCache;
+import com.twitter.twitter_rest_api.service.EngagementCounterService.PendingCounts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EngagementCounterServiceImplTest {
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private InvalidationBus invalidationBus;
+    private TweetCoreCache tweetCoreCache;
+    private EngagementCounterServiceImpl counters;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        invalidationBus = mock(InvalidationBus.class);
+        tweetCoreCache = mock(TweetCoreCache.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        counters = new EngagementCounterServiceImpl(jdbcTemplate, transactionManager, invalidationBus, tweetCoreCache, 4);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void incrementAndDecrementAreSummedPerType() {
+        counters.increment(1L, EngagementType.LIKE);
+        counters.increment(1L, EngagementType.LIKE);
+        counters.decrement(1L, EngagementType.LIKE);
+        counters.increment(1L, EngagementType.RETWEET);
+        counters.increment(1L, EngagementType.QUOTE);
+        counters.increment(1L, EngagementType.REPLY);
+
+        assertThat(counters.pending(1L)).isEqualTo(new PendingCounts(1, 2, 1));
+        assertThat(counters.pending(2L)).isEqualTo(PendingCounts.NONE);
+        assertThat(counters.pending(null)).isEqualTo(PendingCounts.NONE);
+    }
+
+    @Test
+    void flushWritesDeltasInOwnTransactionAndEvictsCores() {
+        counters.increment(5L, EngagementType.LIKE);
+        counters.increment(5L, EngagementType.REPLY);
+
+        counters.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.captor();
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).containsExactly(new Object[]{1L, 0L, 1L, 5L});
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getPropagationBehavior())
+                .isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThat(counters.pending(5L)).isEqualTo(PendingCounts.NONE);
+        verify(tweetCoreCache).evictLocal(5L);
+        verify(invalidationBus).publish(InvalidationMessage.tweets(List.of(5L)));
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForNextFlush() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("bağlantı yok"))
+                .thenReturn(new int[]{1});
+        counters.increment(7L, EngagementType.LIKE);
+
+        counters.flush();
+
+        assertThat(counters.pending(7L)).isEqualTo(new PendingCounts(1, 0, 0));
+        verify(tweetCoreCache, never()).evictLocal(7L);
+        verify(invalidationBus, never()).publish(any());
+
+        // Arada gelen artış geri konan deltayla birleşir
+        counters.increment(7L, EngagementType.LIKE);
+        counters.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.captor();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getAllValues().get(1)).containsExactly(new Object[]{2L, 0L, 0L, 7L});
+        assertThat(counters.pending(7L)).isEqualTo(PendingCounts.NONE);
+    }
+
+    @Test
+    void incrementIsAppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        counters.increment(3L, EngagementType.LIKE);
+
+        assertThat(counters.pending(3L)).isEqualTo(PendingCounts.NONE);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(counters.pending(3L)).isEqualTo(new PendingCounts(1, 0, 0));
+    }
+
+    @Test
+    void rolledBackIncrementIsNotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        counters.increment(3L, EngagementType.LIKE);
+        counters.decrement(4L, EngagementType.REPLY);
+
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(counters.pending(3L)).isEqualTo(PendingCounts.NONE);
+        assertThat(counters.pending(4L)).isEqualTo(PendingCounts.NONE);
+        counters.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,138 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.event.TweetDeletedEvent;
+import com.twitter.twitter_rest_api.event.TweetUpdatedEvent;
+import com.twitter.twitter_rest_api.service.TweetSearchEngine.SearchHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTweetSearchEngineTest {
+    private static final String INSERT_SQL =
+            "INSERT INTO twitterapi.tweets VALUES (?, ?, false, 'TWEET')";
+
+    private InvertedIndexTweetSearchEngine index;
+
+    @BeforeEach
+    void setUp() {
+        // Veritabanına sadece rebuild gider, testler indeksi doğrudan doldurur
+        index = new InvertedIndexTweetSearchEngine(null, false, 100);
+    }
+
+    @Test
+    void intersectsAllQueryTerms() {
+        index.index(1L, "kahve ve çay");
+        index.index(2L, "sadece kahve");
+        index.index(3L, "çay kahve şeker");
+        index.index(4L, "çay");
+
+        assertThat(index.search("kahve çay", 0, 10)).isEqualTo(new SearchHits(List.of(3L, 1L), 2));
+        assertThat(index.search("seker kahve cay", 0, 10)).isEqualTo(new SearchHits(List.of(3L), 1));
+        assertThat(index.search("kahve yok", 0, 10)).isEqualTo(SearchHits.EMPTY);
+    }
+
+    @Test
+    void intersectionKeepsIdOrderForOutOfOrderInserts() {
+        // Yeniden kurulum sırasında eski tweetler yeni tweetlerden sonra eklenebilir
+        for (long id : new long[]{50, 10, 40, 20, 30}) {
+            index.index(id, "ortak");
+        }
+        index.index(20L, "ortak nadir");
+        index.index(40L, "ortak nadir");
+
+        assertThat(index.search("ortak", 0, 10).tweetIds()).containsExactly(50L, 40L, 30L, 20L, 10L);
+        assertThat(index.search("nadir ortak", 0, 10)).isEqualTo(new SearchHits(List.of(40L, 20L), 2));
+    }
+
+    @Test
+    void pagesNewestFirstAndPastTheEnd() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(id, "kelime " + (id % 2 == 0 ? "cift" : "tek"));
+        }
+
+        assertThat(index.search("kelime", 0, 2)).isEqualTo(new SearchHits(List.of(5L, 4L), 5));
+        assertThat(index.search("kelime", 4, 2)).isEqualTo(new SearchHits(List.of(1L), 5));
+        assertThat(index.search("kelime", 5, 2)).isEqualTo(new SearchHits(List.of(), 5));
+        assertThat(index.search("kelime", 50, 2)).isEqualTo(new SearchHits(List.of(), 5));
+        // Kesişimde de aynı sayfalama
+        assertThat(index.search("kelime tek", 1, 5)).isEqualTo(new SearchHits(List.of(3L, 1L), 3));
+        assertThat(index.search("kelime tek", 3, 5)).isEqualTo(new SearchHits(List.of(), 3));
+    }
+
+    @Test
+    void removeAndReindexUpdatePostingLists() {
+        index.index(1L, "eski içerik");
+        index.index(2L, "içerik");
+
+        index.index(1L, "yeni içerik");
+        assertThat(index.search("eski", 0, 10)).isEqualTo(SearchHits.EMPTY);
+        assertThat(index.search("yeni icerik", 0, 10).tweetIds()).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("icerik", 0, 10)).isEqualTo(new SearchHits(List.of(2L), 1));
+        // Boşalan terim listeleri indeksten atılır
+        assertThat(index.termCount()).isEqualTo(1);
+    }
+
+    @Test
+    void changesDuringRebuildAreReloadedAfterward() {
+        RebuildHookJdbcTemplate jdbcTemplate = new RebuildHookJdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:searchindex;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS twitterapi");
+        jdbcTemplate.execute("""
+                CREATE TABLE twitterapi.tweets (
+                    id BIGINT PRIMARY KEY,
+                    content VARCHAR(280),
+                    is_deleted BOOLEAN,
+                    tweet_type VARCHAR(20)
+                )
+                """);
+        try {
+            for (long id = 1; id <= 3; id++) {
+                jdbcTemplate.update(INSERT_SQL, id, "eski tweet " + id);
+            }
+            InvertedIndexTweetSearchEngine engine = new InvertedIndexTweetSearchEngine(jdbcTemplate, true, 2);
+            // İlk parça (1, 2) okunduktan sonra ikisi de değişir; parça indekse eski haliyle yazılır
+            jdbcTemplate.afterFirstRebuildBatch = () -> {
+                jdbcTemplate.update("UPDATE twitterapi.tweets SET is_deleted = true WHERE id = 1");
+                engine.onTweetDeleted(new TweetDeletedEvent(1L, 10L));
+                jdbcTemplate.update("UPDATE twitterapi.tweets SET content = 'yeni tweet 2' WHERE id = 2");
+                engine.onTweetUpdated(new TweetUpdatedEvent(2L, "yeni tweet 2"));
+            };
+
+            engine.rebuild();
+
+            assertThat(engine.search("tweet", 0, 10).tweetIds()).containsExactly(3L, 2L);
+            assertThat(engine.search("yeni", 0, 10).tweetIds()).containsExactly(2L);
+            assertThat(engine.search("eski", 0, 10).tweetIds()).containsExactly(3L);
+        } finally {
+            jdbcTemplate.execute("DROP SCHEMA twitterapi CASCADE");
+        }
+    }
+
+    // Kurulum sorgusu döndükten sonra bir kere çalışan kanca; eşzamanlı değişikliği taklit eder
+    private static final class RebuildHookJdbcTemplate extends JdbcTemplate {
+        private Runnable afterFirstRebuildBatch;
+
+        RebuildHookJdbcTemplate(DriverManagerDataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            List<T> rows = super.query(sql, rowMapper, args);
+            if (afterFirstRebuildBatch != null && sql.contains("t.id > ?")) {
+                Runnable hook = afterFirstRebuildBatch;
+                afterFirstRebuildBatch = null;
+                hook.run();
+            }
+            return rows;
+        }
+    }
+}
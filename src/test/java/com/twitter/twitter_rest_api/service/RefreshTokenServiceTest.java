@@ -0,0 +1,75 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.dto.AuthResponse;
+import com.twitter.twitter_rest_api.entity.User;
+import com.twitter.twitter_rest_api.exceptions.ApiException;
+import com.twitter.twitter_rest_api.security.InMemoryTokenRevocationStore;
+import com.twitter.twitter_rest_api.security.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+    private JwtUtils jwtUtils;
+    private User user;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenExpirationMs", 1_800_000);
+        ReflectionTestUtils.setField(jwtUtils, "refreshTokenExpirationMs", 604_800_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+        user = new User();
+        user.setId(1L);
+        user.setFirstName("Ayşe");
+        user.setLastName("Kaya");
+        user.setUsername("ayse");
+        user.setEmail("ayse@x.com");
+        UserService userService = mock(UserService.class);
+        when(userService.loadUserByUsername("ayse@x.com")).thenReturn(user);
+        refreshTokenService = new RefreshTokenService(jwtUtils, userService, new InMemoryTokenRevocationStore());
+    }
+
+    @Test
+    void rotatedRefreshTokenIsRejectedOnReuse() {
+        String refreshToken = jwtUtils.generateRefreshToken(user);
+
+        AuthResponse rotated = refreshTokenService.refreshToken(refreshToken);
+        assertThat(rotated.refreshToken()).isNotEqualTo(refreshToken);
+
+        // Eski token ikinci kez kullanılamaz, yenisi kullanılabilir
+        assertThatThrownBy(() -> refreshTokenService.refreshToken(refreshToken))
+                .isInstanceOfSatisfying(ApiException.class,
+                        e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.UNAUTHORIZED));
+        assertThat(refreshTokenService.refreshToken(rotated.refreshToken())).isNotNull();
+    }
+
+    @Test
+    void accessTokenCannotBeUsedAsRefreshToken() {
+        String accessToken = jwtUtils.generateAccessToken(user);
+
+        assertThatThrownBy(() -> refreshTokenService.refreshToken(accessToken))
+                .isInstanceOf(ApiException.class);
+    }
+
+    @Test
+    void blacklistedRefreshTokenIsRejected() {
+        String refreshToken = jwtUtils.generateRefreshToken(user);
+
+        refreshTokenService.blacklistToken(refreshToken);
+
+        assertThat(refreshTokenService.isTokeBlackListed(refreshToken)).isTrue();
+        assertThatThrownBy(() -> refreshTokenService.refreshToken(refreshToken))
+                .isInstanceOf(ApiException.class);
+    }
+}
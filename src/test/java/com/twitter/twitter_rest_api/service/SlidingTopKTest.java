@@ -0,0 +1,86 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.dto.TrendResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingTopKTest {
+    private static final long BUCKET_MILLIS = 1_000;
+
+    @Test
+    void sketchNeverUnderestimatesAndClears() {
+        // Dar tablo: çakışmalar kesin olsun
+        CountMinSketch sketch = new CountMinSketch(2, 4);
+        for (int i = 0; i < 20; i++) {
+            for (int n = 0; n <= i % 5; n++) {
+                sketch.add(CountMinSketch.indexes("etiket" + i, 2, 4));
+            }
+        }
+        for (int i = 0; i < 20; i++) {
+            assertThat(sketch.estimate(CountMinSketch.indexes("etiket" + i, 2, 4))).isGreaterThanOrEqualTo(i % 5 + 1);
+        }
+
+        sketch.clear();
+        assertThat(sketch.estimate(CountMinSketch.indexes("etiket0", 2, 4))).isZero();
+    }
+
+    @Test
+    void hashCodeCollisionsDoNotShareCells() {
+        // "Aa" ve "BB" aynı String.hashCode'a sahip; satır indeksleri bundan türetilmemeli
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        assertThat(CountMinSketch.indexes("Aa", 4, 1024)).isNotEqualTo(CountMinSketch.indexes("BB", 4, 1024));
+
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        sketch.add(CountMinSketch.indexes("Aa", 4, 1024));
+        assertThat(sketch.estimate(CountMinSketch.indexes("BB", 4, 1024))).isZero();
+    }
+
+    @Test
+    void expiredBucketsDropOutOfTheWindow() {
+        SlidingTopK topK = new SlidingTopK(BUCKET_MILLIS, 3, 4, 1024, 1.0, 10);
+        addTimes(topK, "eski", 3, 0);
+        addTimes(topK, "yeni", 1, 2_500);
+
+        assertThat(topK.top(10, 2_999)).containsExactly(
+                new TrendResponse("eski", 3), new TrendResponse("yeni", 1));
+        // 0. kova pencereden çıktı
+        assertThat(topK.top(10, 3_000)).containsExactly(new TrendResponse("yeni", 1));
+        // Aynı slota düşen yeni kova eski sayaçları taşımaz
+        addTimes(topK, "yeni", 2, 3_100);
+        assertThat(topK.top(10, 3_100)).containsExactly(new TrendResponse("yeni", 3));
+        assertThat(topK.top(10, 6_000)).isEmpty();
+    }
+
+    @Test
+    void decayRanksRecentGrowthAboveOlderVolume() {
+        SlidingTopK topK = new SlidingTopK(BUCKET_MILLIS, 4, 4, 1024, 0.5, 10);
+        // eski: 4 * 0.5^2 = 1, yeni: 2 * 0.5^0 = 2
+        addTimes(topK, "eski", 4, 0);
+        addTimes(topK, "yeni", 2, 2_000);
+
+        assertThat(topK.top(10, 2_000)).containsExactly(
+                new TrendResponse("yeni", 2), new TrendResponse("eski", 4));
+        assertThat(topK.top(1, 2_000)).containsExactly(new TrendResponse("yeni", 2));
+    }
+
+    @Test
+    void fullCandidateSetOnlyAdmitsHigherScores() {
+        SlidingTopK topK = new SlidingTopK(BUCKET_MILLIS, 3, 4, 1024, 1.0, 2);
+        addTimes(topK, "a", 3, 0);
+        addTimes(topK, "b", 2, 0);
+        topK.add("c", 0);
+
+        assertThat(topK.top(10, 0)).extracting(TrendResponse::tag).containsExactly("a", "b");
+
+        // c'nin sketch'teki sayısı birikir, b'yi geçince adaylara girer
+        addTimes(topK, "c", 2, 0);
+        assertThat(topK.top(10, 0)).containsExactly(new TrendResponse("a", 3), new TrendResponse("c", 3));
+    }
+
+    private static void addTimes(SlidingTopK topK, String key, int times, long nowMillis) {
+        for (int i = 0; i < times; i++) {
+            topK.add(key, nowMillis);
+        }
+    }
+}
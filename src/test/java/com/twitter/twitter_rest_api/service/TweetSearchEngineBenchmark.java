@@ -0,0 +1,151 @@
+package com.twitter.twitter_rest_api.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Arama motorlarının aynı tohumlanmış veri üzerinde karşılaştırması. inverted-index ve like
+// bellek içi H2'de çalışır; postgres için boş bir veritabanı verilmelidir (tablo doluysa olduğu gibi kullanılır):
+// mvn test-compile && java -cp target/test-classes:target/classes:<test classpath> \
+//     -Dbench.pg.url=jdbc:postgresql://localhost:5432/bench -Dbench.pg.user=postgres -Dbench.pg.password=... \
+//     com.twitter.twitter_rest_api.service.TweetSearchEngineBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TweetSearchEngineBenchmark {
+    private static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS twitterapi.tweets (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                content VARCHAR(280),
+                is_deleted BOOLEAN NOT NULL,
+                tweet_type VARCHAR(20) NOT NULL
+            )
+            """;
+    private static final String INSERT_SQL =
+            "INSERT INTO twitterapi.tweets (content, is_deleted, tweet_type) VALUES (?, false, 'TWEET')";
+    private static final int VOCABULARY_SIZE = 5_000;
+    private static final int WORDS_PER_TWEET = 12;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"inverted-index", "like"})
+    public String engine;
+
+    @Param({"50000"})
+    public int tweetCount;
+
+    private TweetSearchEngine searchEngine;
+    private String commonTerm;
+    private String rareTerm;
+    private String twoTerms;
+
+    @Setup
+    public void setup() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource());
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS twitterapi");
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+
+        // Kelime sıklıkları Zipf'e yakın: düşük indeksli kelimeler çok, yüksek indeksliler nadir geçer
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            // Sondaki harf, LIKE aramasında kelime1z'nin kelime12z içinde bulunmasını engeller
+            vocabulary[i] = "kelime" + i + "z";
+        }
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM twitterapi.tweets", Long.class);
+        if (existing == null || existing == 0) {
+            Random random = new Random(42);
+            List<Object[]> batch = new ArrayList<>();
+            for (int i = 0; i < tweetCount; i++) {
+                StringBuilder content = new StringBuilder();
+                for (int w = 0; w < WORDS_PER_TWEET; w++) {
+                    int index = (int) Math.min(VOCABULARY_SIZE - 1, Math.floor(Math.pow(VOCABULARY_SIZE, random.nextDouble())) - 1);
+                    content.append(vocabulary[index]).append(' ');
+                }
+                batch.add(new Object[]{content.toString().strip()});
+                if (batch.size() == 1_000) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            }
+        }
+        commonTerm = vocabulary[1];
+        rareTerm = vocabulary[VOCABULARY_SIZE / 2];
+        twoTerms = vocabulary[2] + " " + vocabulary[10];
+
+        searchEngine = switch (engine) {
+            case "inverted-index" -> {
+                InvertedIndexTweetSearchEngine index = new InvertedIndexTweetSearchEngine(jdbcTemplate, true, 5_000);
+                index.rebuild();
+                yield index;
+            }
+            case "like" -> new LikeTweetSearchEngine(jdbcTemplate);
+            case "postgres" -> {
+                PostgresTweetSearchEngine postgres = new PostgresTweetSearchEngine(jdbcTemplate, "simple", true);
+                postgres.migrate();
+                jdbcTemplate.execute("ANALYZE twitterapi.tweets");
+                yield postgres;
+            }
+            default -> throw new IllegalArgumentException("Bilinmeyen motor: " + engine);
+        };
+    }
+
+    private DriverManagerDataSource dataSource() {
+        if (engine.equals("postgres")) {
+            return new DriverManagerDataSource(
+                    System.getProperty("bench.pg.url"),
+                    System.getProperty("bench.pg.user", "postgres"),
+                    System.getProperty("bench.pg.password", ""));
+        }
+        // Her trial kendi bellek içi veritabanını kurar
+        return new DriverManagerDataSource("jdbc:h2:mem:search_bench_" + engine + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    // Çok geçen terim: eşleşme sayısı büyük, ilk sayfa ve toplam sayı
+    @Benchmark
+    public Object commonTerm() {
+        return searchEngine.search(commonTerm, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object rareTerm() {
+        return searchEngine.search(rareTerm, 0, PAGE_SIZE);
+    }
+
+    // İndeksli motorlarda iki terimin kesişimi; LIKE ise ifadeyi bitişik alt metin olarak arar
+    @Benchmark
+    public Object twoTerms() {
+        return searchEngine.search(twoTerms, 0, PAGE_SIZE);
+    }
+
+    // Derin sayfa: OFFSET maliyeti
+    @Benchmark
+    public Object commonTermDeepPage() {
+        return searchEngine.search(commonTerm, 100 * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(TweetSearchEngineBenchmark.class.getSimpleName());
+        if (System.getProperty("bench.pg.url") != null) {
+            options.param("engine", "inverted-index", "like", "postgres")
+                    .jvmArgsAppend("-Dbench.pg.url=" + System.getProperty("bench.pg.url"),
+                            "-Dbench.pg.user=" + System.getProperty("bench.pg.user", "postgres"),
+                            "-Dbench.pg.password=" + System.getProperty("bench.pg.password", ""));
+        }
+        new Runner(options.build()).run();
+    }
+}
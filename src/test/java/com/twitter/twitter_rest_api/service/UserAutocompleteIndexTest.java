@@ -0,0 +1,142 @@
+package com.twitter.twitter_rest_api.service;
+
+import com.twitter.twitter_rest_api.dto.UserSuggestion;
+import com.twitter.twitter_rest_api.event.FollowChangedEvent;
+import com.twitter.twitter_rest_api.event.UserChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class UserAutocompleteIndexTest {
+    private static final String CREATE_TABLE_SQL = """
+            CREATE TABLE twitterapi.app_user (
+                id BIGINT PRIMARY KEY,
+                username VARCHAR(100),
+                first_name VARCHAR(100),
+                last_name VARCHAR(100),
+                profile_image VARCHAR(255),
+                followers_count INT
+            )
+            """;
+    private static final String INSERT_SQL =
+            "INSERT INTO twitterapi.app_user VALUES (?, ?, ?, ?, NULL, ?)";
+
+    private RebuildHookJdbcTemplate jdbcTemplate;
+    private UserAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new RebuildHookJdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:autocomplete;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS twitterapi");
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        jdbcTemplate.update(INSERT_SQL, 1L, "alican", "Ali", "Can", 10);
+        jdbcTemplate.update(INSERT_SQL, 2L, "alperen", "Alperen", "Kaya", 5);
+        jdbcTemplate.update(INSERT_SQL, 3L, "aliye", "Aliye", "Demir", 1);
+        // Küçük topN: sıralama ve listeye girip çıkma görülebilsin
+        index = new UserAutocompleteIndex(jdbcTemplate, 2, 2);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA twitterapi CASCADE");
+    }
+
+    @Test
+    void suggestsTopUsersByFollowersForEachPrefix() {
+        assertThat(ids(index.suggest("al", 2))).containsExactly(1L, 2L);
+        assertThat(ids(index.suggest("@ALI", 2))).containsExactly(1L, 3L);
+        assertThat(ids(index.suggest("ali c", 2))).containsExactly(1L);
+        assertThat(index.suggest("zz", 2)).isEmpty();
+    }
+
+    @Test
+    void followerChangesReorderTopLists() {
+        for (int i = 0; i < 6; i++) {
+            index.onFollowChanged(new FollowChangedEvent(100L + i, 2L, true));
+        }
+        assertThat(index.suggest("al", 2)).extracting(UserSuggestion::id, UserSuggestion::followersCount)
+                .containsExactly(tuple(2L, 11), tuple(1L, 10));
+
+        // Listede olmayan aday, öndekini geçince listeye girer
+        for (int i = 0; i < 10; i++) {
+            index.onFollowChanged(new FollowChangedEvent(200L + i, 3L, true));
+        }
+        assertThat(ids(index.suggest("al", 2))).containsExactly(2L, 3L);
+
+        // Takipçisi düşen aday, listeden daha önce çıkmış olanın arkasına geçer
+        for (int i = 0; i < 2; i++) {
+            index.onFollowChanged(new FollowChangedEvent(100L + i, 2L, false));
+        }
+        assertThat(ids(index.suggest("al", 2))).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void topListsRefillWhenCandidatesLeave() {
+        jdbcTemplate.update(INSERT_SQL, 4L, "aleyna", "Aleyna", "Ak", 4);
+        jdbcTemplate.update(INSERT_SQL, 5L, "alara", "Alara", "Ay", 3);
+        jdbcTemplate.update(INSERT_SQL, 6L, "alaz", "Alaz", "Er", 2);
+        index.rebuild();
+        assertThat(ids(index.suggest("al", 2))).containsExactly(1L, 2L);
+
+        // "al" düğümü 4 aday tutar; üçü ayrılınca liste çocuklardan yeniden dolar
+        for (long id : new long[]{1L, 2L, 4L}) {
+            jdbcTemplate.update("UPDATE twitterapi.app_user SET username = ?, first_name = 'Zeynep' WHERE id = ?",
+                    "zeynep" + id, id);
+            index.onUserChanged(new UserChangedEvent(id, "x@x.com"));
+        }
+
+        assertThat(ids(index.suggest("al", 2))).containsExactly(5L, 6L);
+        assertThat(ids(index.suggest("ala", 2))).containsExactly(5L, 6L);
+        assertThat(ids(index.suggest("ali", 2))).containsExactly(3L);
+    }
+
+    @Test
+    void changesDuringRebuildAreReloadedAfterSwap() {
+        // Kurulum ilk parçayı okuduktan sonra kullanıcı adı değişir; yeni trie eski adı taşır
+        jdbcTemplate.afterFirstRebuildBatch = () -> {
+            jdbcTemplate.update("UPDATE twitterapi.app_user SET username = 'zeynep', first_name = 'Zeynep' WHERE id = 1");
+            index.onUserChanged(new UserChangedEvent(1L, "alican@x.com"));
+        };
+
+        index.rebuild();
+
+        assertThat(ids(index.suggest("zey", 2))).containsExactly(1L);
+        assertThat(ids(index.suggest("alica", 2))).isEmpty();
+        // Eski adın öneklerinden çıkarılır, boşalan yere sıradaki aday geçer
+        assertThat(ids(index.suggest("al", 2))).containsExactly(2L, 3L);
+    }
+
+    private static List<Long> ids(List<UserSuggestion> suggestions) {
+        return suggestions.stream().map(UserSuggestion::id).toList();
+    }
+
+    // Kurulum sorgusu döndükten sonra bir kere çalışan kanca; eşzamanlı değişikliği taklit eder
+    private static final class RebuildHookJdbcTemplate extends JdbcTemplate {
+        private Runnable afterFirstRebuildBatch;
+
+        RebuildHookJdbcTemplate(DriverManagerDataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            List<T> rows = super.query(sql, rowMapper, args);
+            if (afterFirstRebuildBatch != null && sql.contains("u.id > ?")) {
+                Runnable hook = afterFirstRebuildBatch;
+                afterFirstRebuildBatch = null;
+                hook.run();
+            }
+            return rows;
+        }
+    }
+}